@@ -76,6 +76,16 @@ function getSizeWithHeaders(
     );
 }
 
+/**
+ * Retrieve the width and height (in pixels) of several images at once, keyed
+ * by URL. Images that failed to load are omitted.
+ */
+function getSizes(
+  urls: Array<string>,
+): Promise<{[url: string]: {width: number, height: number}}> {
+  return NativeImageLoaderAndroid.getSizes(urls);
+}
+
 function prefetchWithMetadata(
   url: string,
   queryRootName: string,
@@ -92,6 +102,33 @@ function prefetch(url: string, callback: ?Function): any {
   return NativeImageLoaderAndroid.prefetchImage(url, requestId);
 }
 
+export type PrefetchBatchRequest = $ReadOnly<{
+  url: string,
+  priority?: 'high' | 'normal' | 'low',
+  // Distance in pixels between the image and the viewport along the scroll
+  // axis, negative if the image is before the viewport.
+  offset?: number,
+}>;
+
+/**
+ * Prefetches a batch of images, typically the ones around the viewport of a
+ * list. The prefetches of the previous batch that aren't part of this one are
+ * cancelled. The callback receives the request ID of each prefetch, in order.
+ */
+function prefetchBatch(
+  requests: $ReadOnlyArray<PrefetchBatchRequest>,
+  callback: ?(requestIds: Array<number>) => void,
+): Promise<{[requestId: string]: boolean}> {
+  const nativeRequests = requests.map(request => ({
+    uri: request.url,
+    requestId: generateRequestId(),
+    priority: request.priority,
+    offset: request.offset,
+  }));
+  callback && callback(nativeRequests.map(request => request.requestId));
+  return NativeImageLoaderAndroid.prefetchImages(nativeRequests);
+}
+
 function abortPrefetch(requestId: number) {
   NativeImageLoaderAndroid.abortRequest(requestId);
 }
@@ -110,8 +147,10 @@ async function queryCache(
 export type ImageComponentStatics = $ReadOnly<{|
   getSize: typeof getSize,
   getSizeWithHeaders: typeof getSizeWithHeaders,
+  getSizes: typeof getSizes,
   prefetch: typeof prefetch,
   prefetchWithMetadata: typeof prefetchWithMetadata,
+  prefetchBatch: typeof prefetchBatch,
   abortPrefetch: typeof abortPrefetch,
   queryCache: typeof queryCache,
   resolveAssetSource: typeof resolveAssetSource,
@@ -276,6 +315,14 @@ Image.getSize = getSize;
  * comment and run Flow. */
 Image.getSizeWithHeaders = getSizeWithHeaders;
 
+/**
+ * Retrieve the width and height (in pixels) of several images at once
+ */
+/* $FlowFixMe(>=0.89.0 site=react_native_android_fb) This comment suppresses an
+ * error found when Flow v0.89 was deployed. To see the error, delete this
+ * comment and run Flow. */
+Image.getSizes = getSizes;
+
 /**
  * Prefetches a remote image for later use by downloading it to the disk
  * cache
@@ -298,6 +345,15 @@ Image.prefetch = prefetch;
  * comment and run Flow. */
 Image.prefetchWithMetadata = prefetchWithMetadata;
 
+/**
+ * Prefetches a batch of remote images to the disk cache, by priority and
+ * distance to the viewport, cancelling the prefetches of the previous batch
+ */
+/* $FlowFixMe(>=0.89.0 site=react_native_android_fb) This comment suppresses an
+ * error found when Flow v0.89 was deployed. To see the error, delete this
+ * comment and run Flow. */
+Image.prefetchBatch = prefetchBatch;
+
 /**
  * Abort prefetch request.
  *
@@ -159,6 +159,13 @@ export interface ImagePropsBase
 
   progressiveRenderingEnabled?: boolean | undefined;
 
+  /**
+   * When `source` has several sizes, loads every size up to the best one for
+   * the view at once and displays each of them as it arrives, cached sizes
+   * first. Android only.
+   */
+  multiStageLoadingEnabled?: boolean | undefined;
+
   borderRadius?: number | undefined;
 
   borderTopLeftRadius?: number | undefined;
@@ -346,6 +353,17 @@ export class Image extends ImageBase {
     rootTag?: number,
   ): Promise<boolean>;
   static abortPrefetch?(requestId: number): void;
+  static getSizes?(
+    urls: string[],
+  ): Promise<{[url: string]: {width: number; height: number}}>;
+  static prefetchBatch?(
+    requests: ReadonlyArray<{
+      url: string;
+      priority?: 'high' | 'normal' | 'low' | undefined;
+      offset?: number | undefined;
+    }>,
+    callback?: ((requestIds: number[]) => void) | null,
+  ): Promise<{[requestId: string]: boolean}>;
   static queryCache?(
     urls: string[],
   ): Promise<{[url: string]: 'memory' | 'disk' | 'disk/memory'}>;
@@ -48,6 +48,19 @@ type ImageComponentStaticsIOS = $ReadOnly<{|
 type ImageComponentStaticsAndroid = {
   ...ImageComponentStaticsIOS,
   abortPrefetch(requestId: number): void,
+  getSizes(
+    urls: Array<string>,
+  ): Promise<{[url: string]: {width: number, height: number}}>,
+  prefetchBatch(
+    requests: $ReadOnlyArray<
+      $ReadOnly<{
+        url: string,
+        priority?: 'high' | 'normal' | 'low',
+        offset?: number,
+      }>,
+    >,
+    callback: ?(requestIds: Array<number>) => void,
+  ): Promise<{[requestId: string]: boolean}>,
 };
 
 export type ImageAndroid = React.AbstractComponent<
@@ -58,6 +58,7 @@ type IOSImageProps = $ReadOnly<{|
 type AndroidImageProps = $ReadOnly<{|
   loadingIndicatorSource?: ?(number | $ReadOnly<{|uri: string|}>),
   progressiveRenderingEnabled?: ?boolean,
+  multiStageLoadingEnabled?: ?boolean,
   fadeDuration?: ?number,
 |}>;
 
@@ -89,6 +89,7 @@ export const __INTERNAL_VIEW_CONFIG: PartialViewConfig =
           },
           accessible: true,
           progressiveRenderingEnabled: true,
+          multiStageLoadingEnabled: true,
           fadeDuration: true,
           borderBottomRightRadius: true,
           borderTopRightRadius: true,
@@ -30,7 +30,18 @@ export interface Spec extends TurboModule {
     height: number,
     ...
   }>;
+  +getSizes: (uris: Array<string>) => Promise<{
+    [uri: string]: {width: number, height: number},
+  }>;
   +prefetchImage: (uri: string, requestId: number) => Promise<boolean>;
+  +prefetchImages: (
+    requests: Array<{
+      uri: string,
+      requestId: number,
+      priority?: 'high' | 'normal' | 'low',
+      offset?: number,
+    }>,
+  ) => Promise<{[requestId: string]: boolean}>;
   +queryCache: (uris: Array<string>) => Promise<Object>;
 }
 
@@ -9,6 +9,7 @@
  */
 
 import type {RequestBody} from './convertRequestBody';
+import type {RequestPriority} from './XMLHttpRequest';
 
 // Do not require the native RCTNetworking module directly! Use this wrapper module instead.
 // It will add the necessary requestId, so that you don't have to generate it yourself.
@@ -54,11 +55,12 @@ class RCTNetworking extends NativeEventEmitter<$FlowFixMe> {
     url: string,
     headers: Object,
     data: RequestBody,
-    responseType: 'text' | 'base64',
+    responseType: 'text' | 'base64' | 'json' | 'blob' | 'blobStream',
     incrementalUpdates: boolean,
     timeout: number,
     callback: (requestId: number) => mixed,
     withCredentials: boolean,
+    priority?: ?RequestPriority,
   ) {
     const body = convertRequestBody(data);
     if (body && body.formData) {
@@ -73,7 +75,9 @@ class RCTNetworking extends NativeEventEmitter<$FlowFixMe> {
       url,
       requestId,
       convertHeadersMapToArray(headers),
-      {...body, trackingName},
+      priority != null
+        ? {...body, trackingName, priority}
+        : {...body, trackingName},
       responseType,
       incrementalUpdates,
       timeout,
@@ -14,7 +14,7 @@ import RCTDeviceEventEmitter from '../EventEmitter/RCTDeviceEventEmitter';
 import {type EventSubscription} from '../vendor/emitter/EventEmitter';
 import convertRequestBody, {type RequestBody} from './convertRequestBody';
 import NativeNetworkingIOS from './NativeNetworkingIOS';
-import {type NativeResponseType} from './XMLHttpRequest';
+import {type NativeResponseType, type RequestPriority} from './XMLHttpRequest';
 
 type RCTNetworkingEventDefinitions = $ReadOnly<{
   didSendNetworkData: [
@@ -83,6 +83,8 @@ const RCTNetworking = {
     timeout: number,
     callback: (requestId: number) => void,
     withCredentials: boolean,
+    // Requests are only scheduled by priority on Android.
+    priority?: ?RequestPriority,
   ) {
     const body = convertRequestBody(data);
     NativeNetworkingIOS.sendRequest(
@@ -10,12 +10,15 @@
 
 'use strict';
 
+import type Blob from '../Blob/Blob';
+import type {BlobData} from '../Blob/BlobTypes';
 import type {IPerformanceLogger} from '../Utilities/createPerformanceLogger';
 
 import {type EventSubscription} from '../vendor/emitter/EventEmitter';
 
 const BlobManager = require('../Blob/BlobManager');
 const GlobalPerformanceLogger = require('../Utilities/GlobalPerformanceLogger');
+const Platform = require('../Utilities/Platform');
 const RCTNetworking = require('./RCTNetworking').default;
 const base64 = require('base64-js');
 const EventTarget = require('event-target-shim');
@@ -23,15 +26,25 @@ const invariant = require('invariant');
 
 const DEBUG_NETWORK_SEND_DELAY: false = false; // Set to a number of milliseconds when debugging
 
-export type NativeResponseType = 'base64' | 'blob' | 'text';
+export type NativeResponseType =
+  | 'base64'
+  | 'blob'
+  | 'blobStream'
+  | 'json'
+  | 'text';
 export type ResponseType =
   | ''
   | 'arraybuffer'
   | 'blob'
+  // Android only: the body is delivered while it is downloaded, as one Blob per
+  // chunk. Each chunk is the `response` while its progress events are
+  // dispatched, and is closed once their handlers return.
+  | 'blobStream'
   | 'document'
   | 'json'
   | 'text';
 export type Response = ?Object | string;
+export type RequestPriority = 'high' | 'normal' | 'low';
 
 type XHRInterceptor = interface {
   requestSent(id: number, url: string, method: string, headers: Object): void,
@@ -60,6 +73,7 @@ const DONE = 4;
 const SUPPORTED_RESPONSE_TYPES = {
   arraybuffer: typeof global.ArrayBuffer === 'function',
   blob: typeof global.Blob === 'function',
+  blobStream: Platform.OS === 'android' && typeof global.Blob === 'function',
   document: false,
   json: true,
   text: true,
@@ -136,11 +150,13 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
   _method: ?string = null;
   _perfKey: ?string = null;
   _responseType: ResponseType;
+  _responseChunk: ?Blob = null;
   _response: string = '';
   _sent: boolean;
   _url: ?string = null;
   _timedOut: boolean = false;
   _trackingName: string = 'unknown';
+  _priority: ?RequestPriority = null;
   _incrementalEvents: boolean = false;
   _performanceLogger: IPerformanceLogger = GlobalPerformanceLogger;
 
@@ -197,7 +213,7 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
       `The provided value '${responseType}' is unsupported in this environment.`,
     );
 
-    if (responseType === 'blob') {
+    if (responseType === 'blob' || responseType === 'blobStream') {
       invariant(
         BlobManager.isAvailable,
         'Native module BlobModule is required for blob support',
@@ -225,6 +241,10 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
       return this.readyState < LOADING || this._hasError ? '' : this._response;
     }
 
+    if (responseType === 'blobStream') {
+      return this._responseChunk;
+    }
+
     if (this.readyState !== DONE) {
       return null;
     }
@@ -253,6 +273,11 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
         break;
 
       case 'json':
+        if (typeof this._response !== 'string') {
+          // Parsed natively, null if the body isn't valid JSON.
+          this._cachedResponse = this._response;
+          break;
+        }
         try {
           this._cachedResponse = JSON.parse(this._response);
         } catch (_) {
@@ -338,13 +363,17 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
 
   __didReceiveIncrementalData(
     requestId: number,
-    responseText: string,
+    responseText: string | BlobData,
     progress: number,
     total: number,
   ) {
     if (requestId !== this._requestId) {
       return;
     }
+    if (typeof responseText !== 'string') {
+      this.__didReceiveBlobChunk(requestId, responseText, progress, total);
+      return;
+    }
     if (!this._response) {
       this._response = responseText;
     } else {
@@ -358,6 +387,25 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
     this.__didReceiveDataProgress(requestId, progress, total);
   }
 
+  __didReceiveBlobChunk(
+    requestId: number,
+    chunkData: BlobData,
+    progress: number,
+    total: number,
+  ) {
+    const chunk = BlobManager.createFromOptions(chunkData);
+    this._responseChunk = chunk;
+    try {
+      this.setReadyState(this.LOADING);
+      this.__didReceiveDataProgress(requestId, progress, total);
+    } finally {
+      this._responseChunk = null;
+      // Releasing the chunk frees its native memory, and lets native read
+      // further into the body.
+      chunk.close();
+    }
+  }
+
   __didReceiveDataProgress(
     requestId: number,
     loaded: number,
@@ -401,7 +449,7 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
         XMLHttpRequest._interceptor &&
           XMLHttpRequest._interceptor.loadingFinished(
             requestId,
-            this._response.length,
+            this._response != null ? this._response.length : 0,
           );
       }
     }
@@ -486,6 +534,15 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
     return this;
   }
 
+  /**
+   * Custom extension for setting the priority the request is scheduled with
+   * on Android, relative to the other network requests. Defaults to 'normal'.
+   */
+  setPriority(priority: RequestPriority): XMLHttpRequest {
+    this._priority = priority;
+    return this;
+  }
+
   /**
    * Custom extension for setting a custom performance logger
    */
@@ -521,7 +578,10 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
     }
     this._sent = true;
     const incrementalEvents =
-      this._incrementalEvents || !!this.onreadystatechange || !!this.onprogress;
+      this._incrementalEvents ||
+      !!this.onreadystatechange ||
+      !!this.onprogress ||
+      this._responseType === 'blobStream';
 
     this._subscriptions.push(
       RCTNetworking.addListener('didSendNetworkData', args =>
@@ -561,6 +621,13 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
     if (this._responseType === 'blob') {
       nativeResponseType = 'blob';
     }
+    if (this._responseType === 'blobStream') {
+      nativeResponseType = 'blobStream';
+    }
+    if (this._responseType === 'json' && Platform.OS === 'android') {
+      // Parsed on the networking thread rather than on the JS thread.
+      nativeResponseType = 'json';
+    }
 
     const doSend = () => {
       const friendlyName =
@@ -591,6 +658,7 @@ class XMLHttpRequest extends (EventTarget(...XHR_EVENTS): any) {
         // $FlowFixMe[method-unbinding] added when improving typing for this parameters
         this.__didCreateRequest.bind(this),
         this.withCredentials,
+        this._priority,
       );
     };
     if (DEBUG_NETWORK_SEND_DELAY) {
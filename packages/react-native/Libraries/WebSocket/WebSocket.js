@@ -51,13 +51,18 @@ const WEBSOCKET_EVENTS = ['close', 'error', 'message', 'open'];
 
 let nextWebSocketId = 0;
 
+type WebSocketMessage =
+  | {type: 'binary', id: number, data: string}
+  | {type: 'binaryBatch', id: number, data: string, lengths: Array<number>}
+  | {type: 'text', id: number, data: string}
+  | {type: 'blob', id: number, data: BlobData};
+
 type WebSocketEventDefinitions = {
   websocketOpen: [{id: number, protocol: string}],
   websocketClosed: [{id: number, code: number, reason: string}],
   websocketMessage: [
-    | {type: 'binary', id: number, data: string}
-    | {type: 'text', id: number, data: string}
-    | {type: 'blob', id: number, data: BlobData},
+    | WebSocketMessage
+    | {type: 'batch', id: number, messages: Array<WebSocketMessage>},
   ],
   websocketFailed: [{id: number, message: string}],
 };
@@ -230,22 +235,42 @@ class WebSocket extends (EventTarget(...WEBSOCKET_EVENTS): any) {
     this._subscriptions = [];
   }
 
+  _dispatchMessage(message: WebSocketMessage): void {
+    if (message.type === 'binaryBatch') {
+      // Several binary messages received within a frame, concatenated.
+      const bytes = base64.toByteArray(message.data);
+      let offset = bytes.byteOffset;
+      message.lengths.forEach(length => {
+        const data = bytes.buffer.slice(offset, offset + length);
+        offset += length;
+        this.dispatchEvent(new WebSocketEvent('message', {data}));
+      });
+      return;
+    }
+    let data: Blob | BlobData | ArrayBuffer | string = message.data;
+    switch (message.type) {
+      case 'binary':
+        data = base64.toByteArray(message.data).buffer;
+        break;
+      case 'blob':
+        data = BlobManager.createFromOptions(message.data);
+        break;
+    }
+    this.dispatchEvent(new WebSocketEvent('message', {data}));
+  }
+
   _registerEvents(): void {
     this._subscriptions = [
       this._eventEmitter.addListener('websocketMessage', ev => {
         if (ev.id !== this._socketId) {
           return;
         }
-        let data: Blob | BlobData | ArrayBuffer | string = ev.data;
-        switch (ev.type) {
-          case 'binary':
-            data = base64.toByteArray(ev.data).buffer;
-            break;
-          case 'blob':
-            data = BlobManager.createFromOptions(ev.data);
-            break;
+        if (ev.type === 'batch') {
+          // Messages queued natively while the JS thread was busy, in order.
+          ev.messages.forEach(message => this._dispatchMessage(message));
+          return;
         }
-        this.dispatchEvent(new WebSocketEvent('message', {data}));
+        this._dispatchMessage(ev);
       }),
       this._eventEmitter.addListener('websocketOpen', ev => {
         if (ev.id !== this._socketId) {
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.animated;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+import android.util.SparseArray;
+import androidx.annotation.Nullable;
+import androidx.annotation.UiThread;
+import com.facebook.common.logging.FLog;
+import com.facebook.react.bridge.JSApplicationCausedNativeException;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.UIManager;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Evaluates the animated nodes graph on a dedicated thread, so that a busy UI thread doesn't delay
+ * the animation frames. Evaluations are scheduled by the frame callback of {@link
+ * NativeAnimatedModule} with the frame time of {@link
+ * com.facebook.react.modules.core.ReactChoreographer}.
+ *
+ * <p>{@link PropsAnimatedNode}s don't update their views during an evaluation, they publish their
+ * props instead. The props of a frame are published as a whole, and the UI thread applies the
+ * latest ones on its next frame, see {@link #applyViewUpdates}. Two buffers are swapped, so that
+ * this thread fills one while the UI thread applies the other.
+ *
+ * <p>The graph itself is guarded by the monitor of the {@link NativeAnimatedNodesManager}, which
+ * the UI thread also holds while it runs operations or events on the graph. The props are
+ * published under that monitor, and the UI thread applies them under it, before running operations
+ * or events, so that stale props never overwrite the views updated by those. The UI thread also
+ * takes the monitor on each frame to apply the props and check for active animations: it blocks
+ * until the evaluation in flight completes when an evaluation takes longer than a frame.
+ */
+/* package */ class AnimatedEvaluationThread {
+
+  private static final String TAG = "AnimatedEvaluationThread";
+
+  private static final class ViewUpdate {
+    final UIManager uiManager;
+    final ReadableMap props;
+
+    ViewUpdate(UIManager uiManager, ReadableMap props) {
+      this.uiManager = uiManager;
+      this.props = props;
+    }
+  }
+
+  private final HandlerThread mThread;
+  private final Handler mHandler;
+  private final AtomicBoolean mIsEvaluationScheduled = new AtomicBoolean(false);
+  private volatile long mFrameTimeNanos;
+  private volatile @Nullable NativeAnimatedNodesManager mNodesManager;
+
+  // Filled by this thread during an evaluation.
+  private SparseArray<ViewUpdate> mPendingUpdates = new SparseArray<>();
+  // Published to the UI thread, until it takes them.
+  private final AtomicReference<SparseArray<ViewUpdate>> mPublishedUpdates =
+      new AtomicReference<>();
+  // Given back by the UI thread once applied, to be filled again.
+  private final AtomicReference<SparseArray<ViewUpdate>> mRecycledUpdates =
+      new AtomicReference<>();
+
+  private final Runnable mEvaluateRunnable =
+      new Runnable() {
+        @Override
+        public void run() {
+          mIsEvaluationScheduled.set(false);
+          NativeAnimatedNodesManager nodesManager = mNodesManager;
+          if (nodesManager == null) {
+            return;
+          }
+          // Published while holding the monitor, so that the UI thread, which applies them while
+          // holding it too, can't apply props that predate its operations or events.
+          synchronized (nodesManager) {
+            nodesManager.runUpdates(mFrameTimeNanos);
+            publishViewUpdates();
+          }
+        }
+      };
+
+  AnimatedEvaluationThread() {
+    mThread = new HandlerThread("react_native_animated", Process.THREAD_PRIORITY_DISPLAY);
+    mThread.start();
+    mHandler = new Handler(mThread.getLooper());
+  }
+
+  boolean isCurrentThread() {
+    return Looper.myLooper() == mThread.getLooper();
+  }
+
+  /**
+   * Schedules an evaluation of the graph for a frame. Frames are coalesced while an evaluation is
+   * pending, the latest frame time being used.
+   */
+  @UiThread
+  void scheduleEvaluation(NativeAnimatedNodesManager nodesManager, long frameTimeNanos) {
+    mNodesManager = nodesManager;
+    mFrameTimeNanos = frameTimeNanos;
+    if (mIsEvaluationScheduled.compareAndSet(false, true)) {
+      mHandler.post(mEvaluateRunnable);
+    }
+  }
+
+  /** Called by {@link PropsAnimatedNode}s during an evaluation, instead of updating their view. */
+  void enqueueViewUpdate(int viewTag, UIManager uiManager, ReadableMap props) {
+    mPendingUpdates.put(viewTag, new ViewUpdate(uiManager, props));
+  }
+
+  private void publishViewUpdates() {
+    if (mPendingUpdates.size() == 0) {
+      return;
+    }
+    SparseArray<ViewUpdate> unappliedUpdates = mPublishedUpdates.getAndSet(null);
+    if (unappliedUpdates != null) {
+      // The UI thread missed the previous frame, the props of this one replace the ones it has.
+      for (int i = 0; i < mPendingUpdates.size(); i++) {
+        unappliedUpdates.put(mPendingUpdates.keyAt(i), mPendingUpdates.valueAt(i));
+      }
+      mPendingUpdates.clear();
+      mPublishedUpdates.set(unappliedUpdates);
+    } else {
+      mPublishedUpdates.set(mPendingUpdates);
+      SparseArray<ViewUpdate> recycledUpdates = mRecycledUpdates.getAndSet(null);
+      mPendingUpdates = recycledUpdates != null ? recycledUpdates : new SparseArray<ViewUpdate>();
+    }
+  }
+
+  /** Applies the latest props published by the evaluations to the views. */
+  @UiThread
+  void applyViewUpdates() {
+    SparseArray<ViewUpdate> updates = mPublishedUpdates.getAndSet(null);
+    if (updates == null) {
+      return;
+    }
+    for (int i = 0; i < updates.size(); i++) {
+      ViewUpdate update = updates.valueAt(i);
+      try {
+        update.uiManager.synchronouslyUpdateViewOnUIThread(updates.keyAt(i), update.props);
+      } catch (JSApplicationCausedNativeException e) {
+        // See NativeAnimatedNodesManager#updateNode, the view may not have been created yet.
+        FLog.e(TAG, "Native animation workaround, frame lost as result of race condition", e);
+      }
+    }
+    updates.clear();
+    mRecycledUpdates.set(updates);
+  }
+
+  void quit() {
+    mNodesManager = null;
+    mThread.quitSafely();
+  }
+}
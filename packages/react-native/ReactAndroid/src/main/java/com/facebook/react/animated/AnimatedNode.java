@@ -9,8 +9,7 @@ package com.facebook.react.animated;
 
 import androidx.annotation.Nullable;
 import com.facebook.infer.annotation.Assertions;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /** Base class for all Animated.js library node types that can be created on the "native" side. */
 /*package*/ abstract class AnimatedNode {
@@ -19,16 +18,24 @@ import java.util.List;
 
   private static final int DEFAULT_ANIMATED_NODE_CHILD_COUNT = 1;
 
-  /*package*/ @Nullable List<AnimatedNode> mChildren; /* lazy-initialized when a child is added */
+  // Children are the first `mChildCount` entries of the array, which avoids the overhead of a list
+  // object per node in large graphs.
+  /*package*/ @Nullable AnimatedNode[] mChildren; /* lazy-initialized when a child is added */
+  /*package*/ int mChildCount = 0;
+  /*package*/ int mParentCount = 0;
   /*package*/ int mActiveIncomingNodes = 0;
   /*package*/ int mBFSColor = INITIAL_BFS_COLOR;
   /*package*/ int mTag = -1;
+  /*package*/ int mPlanIndex = -1; /* rank in the evaluation plan of NativeAnimatedNodesManager */
 
   public final void addChild(AnimatedNode child) {
     if (mChildren == null) {
-      mChildren = new ArrayList<>(DEFAULT_ANIMATED_NODE_CHILD_COUNT);
+      mChildren = new AnimatedNode[DEFAULT_ANIMATED_NODE_CHILD_COUNT];
+    } else if (mChildCount == mChildren.length) {
+      mChildren = Arrays.copyOf(mChildren, mChildCount * 2);
     }
-    Assertions.assertNotNull(mChildren).add(child);
+    mChildren[mChildCount++] = child;
+    child.mParentCount++;
     child.onAttachedToNode(this);
   }
 
@@ -37,7 +44,24 @@ import java.util.List;
       return;
     }
     child.onDetachedFromNode(this);
-    mChildren.remove(child);
+    for (int i = 0; i < mChildCount; i++) {
+      if (mChildren[i] == child) {
+        System.arraycopy(mChildren, i + 1, mChildren, i, mChildCount - i - 1);
+        mChildren[--mChildCount] = null;
+        child.mParentCount--;
+        return;
+      }
+    }
+  }
+
+  /**
+   * Resets the state the graph traversals keep on the node, before it is reused for a new node
+   * taken from the pool of {@link NativeAnimatedNodesManager}.
+   */
+  /*package*/ final void resetGraphState() {
+    mActiveIncomingNodes = 0;
+    mBFSColor = INITIAL_BFS_COLOR;
+    mPlanIndex = -1;
   }
 
   /**
@@ -65,10 +89,8 @@ import java.util.List;
 
   public String prettyPrintWithChildren() {
     String children = "";
-    if (mChildren != null && mChildren.size() > 0) {
-      for (AnimatedNode child : mChildren) {
-        children += " " + child.mTag;
-      }
+    for (int i = 0; i < mChildCount; i++) {
+      children += " " + Assertions.assertNotNull(mChildren)[i].mTag;
     }
 
     return prettyPrint() + (children.length() > 0 ? " children: " + children : "");
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.animated;
+
+/**
+ * Operations of {@link NativeAnimatedModule#queueAndExecuteBatchedOperations}, decoded from the
+ * array sent by JS into flat arrays of ints, doubles and objects (like {@code
+ * IntBufferBatchMountItem}). The array is decoded once on the native modules thread, and the UI
+ * thread replays the operations by reading the arguments back in the order they were written.
+ */
+/* package */ class AnimatedOperationsBuffer {
+
+  private final int[] mInts;
+  private final double[] mDoubles;
+  private final Object[] mObjects;
+  private int mIntsIndex = 0;
+  private int mDoublesIndex = 0;
+  private int mObjectsIndex = 0;
+  private int mIntsCount = 0;
+
+  /** @param capacity the size of the array sent by JS, which no kind of value can exceed */
+  AnimatedOperationsBuffer(int capacity) {
+    mInts = new int[capacity];
+    mDoubles = new double[capacity];
+    mObjects = new Object[capacity];
+  }
+
+  void putInt(int value) {
+    mInts[mIntsCount++] = value;
+  }
+
+  void putDouble(double value) {
+    mDoubles[mDoublesIndex++] = value;
+  }
+
+  void putObject(Object value) {
+    mObjects[mObjectsIndex++] = value;
+  }
+
+  /** Rewinds the buffer, once all the operations have been written, to read them back. */
+  void rewind() {
+    mIntsIndex = 0;
+    mDoublesIndex = 0;
+    mObjectsIndex = 0;
+  }
+
+  boolean hasNext() {
+    return mIntsIndex < mIntsCount;
+  }
+
+  int nextInt() {
+    return mInts[mIntsIndex++];
+  }
+
+  double nextDouble() {
+    return mDoubles[mDoublesIndex++];
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> T nextObject() {
+    T value = (T) mObjects[mObjectsIndex];
+    // Let the configs be collected once their node is created.
+    mObjects[mObjectsIndex++] = null;
+    return value;
+  }
+}
@@ -17,14 +17,19 @@ import com.facebook.react.bridge.ReadableMap;
  */
 /*package*/ abstract class AnimationDriver {
 
+  /*package*/ static final long DEFAULT_FRAME_INTERVAL_NANOS = 1000000000L / 60;
+
   /*package*/ boolean mHasFinished = false;
   /*package*/ ValueAnimatedNode mAnimatedValue;
   /*package*/ Callback mEndCallback;
   /*package*/ int mId;
+  /*package*/ long mFrameIntervalNanos = DEFAULT_FRAME_INTERVAL_NANOS; /* of the display */
 
   /**
    * This method gets called in the main animation loop with a frame time passed down from the
-   * android choreographer callback.
+   * android choreographer callback. Drivers must produce the same curve whatever the refresh rate
+   * of the display, that is the interval between two frames, is: values depend on the frame time
+   * only, never on the number of frames.
    */
   public abstract void runAnimationStep(long frameTimeNanos);
 
@@ -38,4 +43,10 @@ import com.facebook.react.bridge.ReadableMap;
     throw new JSApplicationCausedNativeException(
         "Animation config for " + getClass().getSimpleName() + " cannot be reset");
   }
+
+  /**
+   * This method gets called once the animation is removed from the active animations, because it
+   * has finished or has been stopped. Drivers can release the resources they hold there.
+   */
+  /*package*/ void onRemoved() {}
 }
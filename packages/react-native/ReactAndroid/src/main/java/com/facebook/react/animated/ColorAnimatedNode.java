@@ -117,7 +117,8 @@ import com.facebook.react.views.view.ColorUtil;
     // Search children depth-first until we get to a PropsAnimatedNode, from which we can
     // get the view and its context
     if (node.mChildren != null) {
-      for (AnimatedNode child : node.mChildren) {
+      for (int i = 0; i < node.mChildCount; i++) {
+        AnimatedNode child = node.mChildren[i];
         if (child instanceof PropsAnimatedNode) {
           View view = ((PropsAnimatedNode) child).getConnectedView();
           return view != null ? view.getContext() : null;
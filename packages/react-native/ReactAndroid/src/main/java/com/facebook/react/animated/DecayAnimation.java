@@ -15,10 +15,15 @@ import com.facebook.react.bridge.ReadableMap;
  */
 public class DecayAnimation extends AnimationDriver {
 
+  private static final double FRAME_TIME_MILLIS_60FPS = 1000d / 60d;
+  // the animation ends once it moves by less than this in a 60FPS frame
+  private static final double REST_DELTA_PER_60FPS_FRAME = 0.1;
+
   private final double mVelocity;
 
   private double mDeceleration;
-  private long mStartFrameTimeMillis;
+  private double mStartFrameTimeMillis;
+  private double mLastFrameTimeMillis;
   private double mFromValue;
   private double mLastValue;
   private int mIterations;
@@ -42,10 +47,11 @@ public class DecayAnimation extends AnimationDriver {
 
   @Override
   public void runAnimationStep(long frameTimeNanos) {
-    long frameTimeMillis = frameTimeNanos / 1000000;
+    double frameTimeMillis = frameTimeNanos / 1000000d;
     if (mStartFrameTimeMillis == -1) {
       // since this is the first animation step, consider the start to be on the previous frame
-      mStartFrameTimeMillis = frameTimeMillis - 16;
+      mStartFrameTimeMillis = frameTimeMillis - mFrameIntervalNanos / 1000000d;
+      mLastFrameTimeMillis = mStartFrameTimeMillis;
       if (mFromValue == mLastValue) { // first iteration, assign mFromValue based on mAnimatedValue
         mFromValue = mAnimatedValue.mValue;
       } else { // not the first iteration, reset mAnimatedValue based on mFromValue
@@ -59,7 +65,11 @@ public class DecayAnimation extends AnimationDriver {
             + (mVelocity / (1 - mDeceleration))
                 * (1 - Math.exp(-(1 - mDeceleration) * (frameTimeMillis - mStartFrameTimeMillis)));
 
-    if (Math.abs(mLastValue - value) < 0.1) {
+    // Compare the distance covered since the last frame to the one of a 60FPS frame, so that the
+    // animation doesn't end earlier on displays with a higher refresh rate.
+    double elapsedFrames = (frameTimeMillis - mLastFrameTimeMillis) / FRAME_TIME_MILLIS_60FPS;
+    mLastFrameTimeMillis = frameTimeMillis;
+    if (Math.abs(mLastValue - value) < REST_DELTA_PER_60FPS_FRAME * elapsedFrames) {
 
       if (mIterations == -1 || mCurrentLoop < mIterations) { // looping animation, return to start
         // set mStartFrameTimeMillis to -1 to reset instance variables on the next runAnimationStep
@@ -19,7 +19,7 @@ import java.util.List;
 
 /** Handles updating a {@link ValueAnimatedNode} when an event gets dispatched. */
 /* package */ class EventAnimationDriver implements RCTEventEmitter {
-  private List<String> mEventPath;
+  /* package */ List<String> mEventPath;
   /* package */ ValueAnimatedNode mValueNode;
   /* package */ String mEventName;
   /* package */ int mViewTag;
@@ -18,6 +18,9 @@ import com.facebook.react.common.build.ReactBuildConfig;
  * Implementation of {@link AnimationDriver} which provides a support for simple time-based
  * animations that are pre-calculate on the JS side. For each animation frame JS provides a value
  * from 0 to 1 that indicates a progress of the animation at that frame.
+ *
+ * <p>The frames are sampled at 60FPS, the progress between two of them is interpolated linearly so
+ * that displays with higher refresh rates get a distinct value on each of their frames.
  */
 class FrameBasedAnimationDriver extends AnimationDriver {
 
@@ -70,9 +73,9 @@ class FrameBasedAnimationDriver extends AnimationDriver {
         mFromValue = mAnimatedValue.mValue;
       }
     }
-    long timeFromStartMillis = (frameTimeNanos - mStartFrameTimeNanos) / 1000000;
-    int frameIndex = (int) Math.round(timeFromStartMillis / FRAME_TIME_MILLIS);
-    if (frameIndex < 0) {
+    double timeFromStartMillis = (frameTimeNanos - mStartFrameTimeNanos) / 1000000d;
+    double framePosition = timeFromStartMillis / FRAME_TIME_MILLIS;
+    if (framePosition < 0) {
       String message =
           "Calculated frame index should never be lower than 0. Called with frameTimeNanos "
               + frameTimeNanos
@@ -88,6 +91,7 @@ class FrameBasedAnimationDriver extends AnimationDriver {
       // nothing to do here
       return;
     }
+    int frameIndex = (int) framePosition;
     double nextValue;
     if (frameIndex >= mFrames.length - 1) {
       nextValue = mToValue;
@@ -98,7 +102,10 @@ class FrameBasedAnimationDriver extends AnimationDriver {
         mHasFinished = true;
       }
     } else {
-      nextValue = mFromValue + mFrames[frameIndex] * (mToValue - mFromValue);
+      double progress =
+          mFrames[frameIndex]
+              + (framePosition - frameIndex) * (mFrames[frameIndex + 1] - mFrames[frameIndex]);
+      nextValue = mFromValue + progress * (mToValue - mFromValue);
     }
     mAnimatedValue.mValue = nextValue;
   }
@@ -80,6 +80,22 @@ import java.util.regex.Pattern;
     return outputRange;
   }
 
+  /**
+   * Splits a pattern around its numbers, which are replaced by the interpolated numbers rendered
+   * between the segments, see {@link #interpolateString}.
+   */
+  private static String[] compilePattern(String pattern) {
+    Matcher m = sNumericPattern.matcher(pattern);
+    List<String> segments = new ArrayList<>();
+    int segmentStart = 0;
+    while (m.find()) {
+      segments.add(pattern.substring(segmentStart, m.start()));
+      segmentStart = m.end();
+    }
+    segments.add(pattern.substring(segmentStart));
+    return segments.toArray(new String[segments.size()]);
+  }
+
   private static double interpolate(
       double value,
       double inputMin,
@@ -173,19 +189,22 @@ import java.util.regex.Pattern;
     return ColorUtils.blendARGB(outputMin, outputMax, (float) ratio);
   }
 
-  /*package*/ static String interpolateString(
-      String pattern,
+  /**
+   * Renders the pattern compiled by {@link #compilePattern} into {@code sb}, with its numbers
+   * interpolated.
+   */
+  /*package*/ static void interpolateString(
+      StringBuilder sb,
+      String[] patternSegments,
       double value,
       double[] inputRange,
       double[][] outputRange,
       String extrapolateLeft,
       String extrapolateRight) {
     int rangeIndex = findRangeIndex(value, inputRange);
-    StringBuffer sb = new StringBuffer(pattern.length());
-
-    Matcher m = sNumericPattern.matcher(pattern);
-    int i = 0;
-    while (m.find() && i < outputRange[rangeIndex].length) {
+    sb.setLength(0);
+    sb.append(patternSegments[0]);
+    for (int i = 0; i < patternSegments.length - 1; i++) {
       double val =
           interpolate(
               value,
@@ -196,11 +215,13 @@ import java.util.regex.Pattern;
               extrapolateLeft,
               extrapolateRight);
       int intVal = (int) val;
-      m.appendReplacement(sb, intVal != val ? Double.toString(val) : Integer.toString(intVal));
-      i++;
+      if (intVal != val) {
+        sb.append(val);
+      } else {
+        sb.append(intVal);
+      }
+      sb.append(patternSegments[i + 1]);
     }
-    m.appendTail(sb);
-    return sb.toString();
   }
 
   private static int findRangeIndex(double value, double[] ranges) {
@@ -222,7 +243,10 @@ import java.util.regex.Pattern;
   private final double mInputRange[];
   private final Object mOutputRange;
   private final OutputType mOutputType;
-  private final @Nullable String mPattern;
+  private final @Nullable String[] mPatternSegments;
+  private final StringBuilder mStringBuilder = new StringBuilder();
+  // Input value of `mObjectValue` when it is a string, which is only rendered again on changes.
+  private double mStringInputValue = Double.NaN;
   private final String mExtrapolateLeft;
   private final String mExtrapolateRight;
   private @Nullable ValueAnimatedNode mParent;
@@ -235,15 +259,15 @@ import java.util.regex.Pattern;
     if (COLOR_OUTPUT_TYPE.equals(config.getString("outputType"))) {
       mOutputType = OutputType.Color;
       mOutputRange = fromIntArray(output);
-      mPattern = null;
+      mPatternSegments = null;
     } else if (output.getType(0) == ReadableType.String) {
       mOutputType = OutputType.String;
       mOutputRange = fromStringPattern(output);
-      mPattern = output.getString(0);
+      mPatternSegments = compilePattern(output.getString(0));
     } else {
       mOutputType = OutputType.Number;
       mOutputRange = fromDoubleArray(output);
-      mPattern = null;
+      mPatternSegments = null;
     }
 
     mExtrapolateLeft = config.getString("extrapolateLeft");
@@ -287,14 +311,19 @@ import java.util.regex.Pattern;
         mObjectValue = Integer.valueOf(interpolateColor(value, mInputRange, (int[]) mOutputRange));
         break;
       case String:
-        mObjectValue =
-            interpolateString(
-                mPattern,
-                value,
-                mInputRange,
-                (double[][]) mOutputRange,
-                mExtrapolateLeft,
-                mExtrapolateRight);
+        if (mObjectValue != null && value == mStringInputValue) {
+          break;
+        }
+        interpolateString(
+            mStringBuilder,
+            mPatternSegments,
+            value,
+            mInputRange,
+            (double[][]) mOutputRange,
+            mExtrapolateLeft,
+            mExtrapolateRight);
+        mObjectValue = mStringBuilder.toString();
+        mStringInputValue = value;
         break;
     }
   }
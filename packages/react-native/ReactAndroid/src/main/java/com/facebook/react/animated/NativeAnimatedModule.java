@@ -25,6 +25,7 @@ import com.facebook.react.bridge.UIManager;
 import com.facebook.react.bridge.UIManagerListener;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.annotations.VisibleForTesting;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.modules.core.ReactChoreographer;
 import com.facebook.react.uimanager.GuardedFrameCallback;
@@ -151,6 +152,8 @@ public class NativeAnimatedModule extends NativeAnimatedModuleSpec
   private class ConcurrentOperationQueue {
     private final Queue<UIThreadOperation> mQueue = new ConcurrentLinkedQueue<>();
     @Nullable private UIThreadOperation mPeekedOperation = null;
+    // Reused by every batch, only accessed from the UI thread.
+    private final List<UIThreadOperation> mDrainedOperations = new ArrayList<>();
 
     @AnyThread
     boolean isEmpty() {
@@ -167,8 +170,19 @@ public class NativeAnimatedModule extends NativeAnimatedModuleSpec
       List<UIThreadOperation> operations;
       operations = drainQueueIntoList(maxBatchNumber);
       if (operations != null) {
-        for (UIThreadOperation operation : operations) {
-          operation.execute(nodesManager);
+        // The graph may be evaluated on the AnimatedEvaluationThread at the same time.
+        synchronized (nodesManager) {
+          if (mEvaluationThread != null) {
+            // Apply the props of the evaluated frames before operations restore or update views.
+            mEvaluationThread.applyViewUpdates();
+          }
+          try {
+            for (int i = 0; i < operations.size(); i++) {
+              operations.get(i).execute(nodesManager);
+            }
+          } finally {
+            operations.clear();
+          }
         }
       }
     }
@@ -179,7 +193,7 @@ public class NativeAnimatedModule extends NativeAnimatedModuleSpec
         return null;
       }
 
-      List<UIThreadOperation> operations = new ArrayList<>();
+      List<UIThreadOperation> operations = mDrainedOperations;
       while (true) {
         // Due to a race condition, we manually "carry-over" a polled item from previous batch
         // instead of peeking the queue itself for consistency.
@@ -213,6 +227,8 @@ public class NativeAnimatedModule extends NativeAnimatedModuleSpec
 
   @NonNull private final GuardedFrameCallback mAnimatedFrameCallback;
   private final ReactChoreographer mReactChoreographer;
+  // Set when the graph is evaluated off the UI thread, see `AnimatedEvaluationThread`.
+  private final @Nullable AnimatedEvaluationThread mEvaluationThread;
 
   @NonNull private final ConcurrentOperationQueue mOperations = new ConcurrentOperationQueue();
   @NonNull private final ConcurrentOperationQueue mPreOperations = new ConcurrentOperationQueue();
@@ -233,13 +249,27 @@ public class NativeAnimatedModule extends NativeAnimatedModuleSpec
     super(reactContext);
 
     mReactChoreographer = ReactChoreographer.getInstance();
+    mEvaluationThread =
+        ReactFeatureFlags.enableAnimatedOffMainThreadEvaluation
+            ? new AnimatedEvaluationThread()
+            : null;
     mAnimatedFrameCallback =
         new GuardedFrameCallback(reactContext) {
           @Override
           protected void doFrameGuarded(final long frameTimeNanos) {
             try {
               NativeAnimatedNodesManager nodesManager = getNodesManager();
-              if (nodesManager != null && nodesManager.hasActiveAnimations()) {
+              if (nodesManager != null && mEvaluationThread != null) {
+                // Waits for the evaluation of the previous frame if it is still running.
+                boolean hasActiveAnimations;
+                synchronized (nodesManager) {
+                  mEvaluationThread.applyViewUpdates();
+                  hasActiveAnimations = nodesManager.hasActiveAnimations();
+                }
+                if (hasActiveAnimations) {
+                  mEvaluationThread.scheduleEvaluation(nodesManager, frameTimeNanos);
+                }
+              } else if (nodesManager != null && nodesManager.hasActiveAnimations()) {
                 nodesManager.runUpdates(frameTimeNanos);
               }
               // This is very unlikely to ever be hit.
@@ -395,7 +425,10 @@ public class NativeAnimatedModule extends NativeAnimatedModuleSpec
       ReactApplicationContext reactApplicationContext = getReactApplicationContextIfActiveOrWarn();
 
       if (reactApplicationContext != null) {
-        mNodesManager.compareAndSet(null, new NativeAnimatedNodesManager(reactApplicationContext));
+        NativeAnimatedNodesManager nodesManager =
+            new NativeAnimatedNodesManager(reactApplicationContext);
+        nodesManager.setEvaluationThread(mEvaluationThread);
+        mNodesManager.compareAndSet(null, nodesManager);
       }
     }
 
@@ -989,6 +1022,9 @@ public class NativeAnimatedModule extends NativeAnimatedModuleSpec
     super.invalidate();
 
     getReactApplicationContext().removeLifecycleEventListener(this);
+    if (mEvaluationThread != null) {
+      mEvaluationThread.quit();
+    }
   }
 
   /**
@@ -1011,12 +1047,15 @@ public class NativeAnimatedModule extends NativeAnimatedModuleSpec
       FLog.e(NAME, "queueAndExecuteBatchedOperations: opBufferSize: " + opBufferSize);
     }
 
-    // This block of code is unfortunate and should be refactored - we just want to
-    // extract the ViewTags in the ReadableArray to mark animations on views as being enabled.
-    // We only do this for initializing animations on views - disabling animations on views
-    // happens later, when the disconnect/stop operations are actually executed.
+    // Decode the operations once, so that the UI thread only reads primitive arrays. While doing
+    // so, extract the ViewTags to mark animations on views as being enabled. We only do this for
+    // initializing animations on views - disabling animations on views happens later, when the
+    // disconnect/stop operations are actually executed.
+    final AnimatedOperationsBuffer operations = new AnimatedOperationsBuffer(opBufferSize);
     for (int i = 0; i < opBufferSize; ) {
-      BatchExecutionOpCodes command = BatchExecutionOpCodes.fromId(opsAndArgs.getInt(i++));
+      int opCode = opsAndArgs.getInt(i++);
+      BatchExecutionOpCodes command = BatchExecutionOpCodes.fromId(opCode);
+      operations.putInt(opCode);
       switch (command) {
         case OP_CODE_GET_VALUE:
         case OP_START_LISTENING_TO_ANIMATED_NODE_VALUE:
@@ -1026,37 +1065,61 @@ public class NativeAnimatedModule extends NativeAnimatedModuleSpec
         case OP_CODE_EXTRACT_ANIMATED_NODE_OFFSET:
         case OP_CODE_RESTORE_DEFAULT_VALUES:
         case OP_CODE_DROP_ANIMATED_NODE:
+          operations.putInt(opsAndArgs.getInt(i++));
+          break;
         case OP_CODE_ADD_LISTENER:
         case OP_CODE_REMOVE_LISTENERS:
           i++;
           break;
         case OP_CODE_CREATE_ANIMATED_NODE:
         case OP_CODE_UPDATE_ANIMATED_NODE_CONFIG:
+          operations.putInt(opsAndArgs.getInt(i++));
+          operations.putObject(opsAndArgs.getMap(i++));
+          break;
         case OP_CODE_CONNECT_ANIMATED_NODES:
         case OP_CODE_DISCONNECT_ANIMATED_NODES:
+        case OP_CODE_DISCONNECT_ANIMATED_NODE_FROM_VIEW:
+          operations.putInt(opsAndArgs.getInt(i++));
+          operations.putInt(opsAndArgs.getInt(i++));
+          break;
         case OP_CODE_SET_ANIMATED_NODE_VALUE:
         case OP_CODE_SET_ANIMATED_NODE_OFFSET:
-        case OP_CODE_DISCONNECT_ANIMATED_NODE_FROM_VIEW:
-          i += 2;
+          operations.putInt(opsAndArgs.getInt(i++));
+          operations.putDouble(opsAndArgs.getDouble(i++));
           break;
         case OP_CODE_START_ANIMATING_NODE:
+          operations.putInt(opsAndArgs.getInt(i++));
+          operations.putInt(opsAndArgs.getInt(i++));
+          operations.putObject(opsAndArgs.getMap(i++));
+          break;
         case OP_CODE_REMOVE_ANIMATED_EVENT_FROM_VIEW:
-          i += 3;
+          operations.putInt(opsAndArgs.getInt(i++)); // viewTag
+          operations.putObject(opsAndArgs.getString(i++)); // eventName
+          operations.putInt(opsAndArgs.getInt(i++)); // animatedValueTag
           break;
         case OP_CODE_CONNECT_ANIMATED_NODE_TO_VIEW:
-          i++; // tag
-          initializeLifecycleEventListenersForViewTag(opsAndArgs.getInt(i++)); // viewTag
-          break;
+          {
+            operations.putInt(opsAndArgs.getInt(i++)); // tag
+            int viewTag = opsAndArgs.getInt(i++);
+            initializeLifecycleEventListenersForViewTag(viewTag);
+            operations.putInt(viewTag);
+            break;
+          }
         case OP_CODE_ADD_ANIMATED_EVENT_TO_VIEW:
-          initializeLifecycleEventListenersForViewTag(opsAndArgs.getInt(i++)); // viewTag
-          i++; // eventName
-          i++; // eventMapping
-          break;
+          {
+            int viewTag = opsAndArgs.getInt(i++);
+            initializeLifecycleEventListenersForViewTag(viewTag);
+            operations.putInt(viewTag);
+            operations.putObject(opsAndArgs.getString(i++)); // eventName
+            operations.putObject(opsAndArgs.getMap(i++)); // eventMapping
+            break;
+          }
         default:
           throw new IllegalArgumentException(
               "Batch animation execution op: fetching viewTag: unknown op code");
       }
     }
+    operations.rewind();
 
     // Batching happens inside this operation - so signal to the thread loop that
     // this operation should be executed as soon as possible, "unbatched" with other
@@ -1070,23 +1133,23 @@ public class NativeAnimatedModule extends NativeAnimatedModuleSpec
                 getReactApplicationContextIfActiveOrWarn();
 
             int viewTag = -1;
-            for (int i = 0; i < opBufferSize; ) {
-              BatchExecutionOpCodes command = BatchExecutionOpCodes.fromId(opsAndArgs.getInt(i++));
+            while (operations.hasNext()) {
+              BatchExecutionOpCodes command = BatchExecutionOpCodes.fromId(operations.nextInt());
 
               switch (command) {
                 case OP_CODE_CREATE_ANIMATED_NODE:
                   animatedNodesManager.createAnimatedNode(
-                      opsAndArgs.getInt(i++), opsAndArgs.getMap(i++));
+                      operations.nextInt(), operations.<ReadableMap>nextObject());
                   break;
                 case OP_CODE_UPDATE_ANIMATED_NODE_CONFIG:
                   animatedNodesManager.updateAnimatedNodeConfig(
-                      opsAndArgs.getInt(i++), opsAndArgs.getMap(i++));
+                      operations.nextInt(), operations.<ReadableMap>nextObject());
                   break;
                 case OP_CODE_GET_VALUE:
-                  animatedNodesManager.getValue(opsAndArgs.getInt(i++), null);
+                  animatedNodesManager.getValue(operations.nextInt(), null);
                   break;
                 case OP_START_LISTENING_TO_ANIMATED_NODE_VALUE:
-                  final int tag = opsAndArgs.getInt(i++);
+                  final int tag = operations.nextInt();
                   final AnimatedNodeValueListener listener =
                       new AnimatedNodeValueListener() {
                         public void onValueUpdate(double value) {
@@ -1105,67 +1168,71 @@ public class NativeAnimatedModule extends NativeAnimatedModuleSpec
                   animatedNodesManager.startListeningToAnimatedNodeValue(tag, listener);
                   break;
                 case OP_STOP_LISTENING_TO_ANIMATED_NODE_VALUE:
-                  animatedNodesManager.stopListeningToAnimatedNodeValue(opsAndArgs.getInt(i++));
+                  animatedNodesManager.stopListeningToAnimatedNodeValue(operations.nextInt());
                   break;
                 case OP_CODE_CONNECT_ANIMATED_NODES:
                   animatedNodesManager.connectAnimatedNodes(
-                      opsAndArgs.getInt(i++), opsAndArgs.getInt(i++));
+                      operations.nextInt(), operations.nextInt());
                   break;
                 case OP_CODE_DISCONNECT_ANIMATED_NODES:
                   animatedNodesManager.disconnectAnimatedNodes(
-                      opsAndArgs.getInt(i++), opsAndArgs.getInt(i++));
+                      operations.nextInt(), operations.nextInt());
                   break;
                 case OP_CODE_START_ANIMATING_NODE:
                   animatedNodesManager.startAnimatingNode(
-                      opsAndArgs.getInt(i++), opsAndArgs.getInt(i++), opsAndArgs.getMap(i++), null);
+                      operations.nextInt(),
+                      operations.nextInt(),
+                      operations.<ReadableMap>nextObject(),
+                      null);
                   break;
                 case OP_CODE_STOP_ANIMATION:
-                  animatedNodesManager.stopAnimation(opsAndArgs.getInt(i++));
+                  animatedNodesManager.stopAnimation(operations.nextInt());
                   break;
                 case OP_CODE_SET_ANIMATED_NODE_VALUE:
                   animatedNodesManager.setAnimatedNodeValue(
-                      opsAndArgs.getInt(i++), opsAndArgs.getDouble(i++));
+                      operations.nextInt(), operations.nextDouble());
                   break;
                 case OP_CODE_SET_ANIMATED_NODE_OFFSET:
-                  animatedNodesManager.setAnimatedNodeValue(
-                      opsAndArgs.getInt(i++), opsAndArgs.getDouble(i++));
+                  animatedNodesManager.setAnimatedNodeOffset(
+                      operations.nextInt(), operations.nextDouble());
                   break;
                 case OP_CODE_FLATTEN_ANIMATED_NODE_OFFSET:
-                  animatedNodesManager.flattenAnimatedNodeOffset(opsAndArgs.getInt(i++));
+                  animatedNodesManager.flattenAnimatedNodeOffset(operations.nextInt());
                   break;
                 case OP_CODE_EXTRACT_ANIMATED_NODE_OFFSET:
-                  animatedNodesManager.extractAnimatedNodeOffset(opsAndArgs.getInt(i++));
+                  animatedNodesManager.extractAnimatedNodeOffset(operations.nextInt());
                   break;
                 case OP_CODE_CONNECT_ANIMATED_NODE_TO_VIEW:
                   animatedNodesManager.connectAnimatedNodeToView(
-                      opsAndArgs.getInt(i++), opsAndArgs.getInt(i++));
+                      operations.nextInt(), operations.nextInt());
                   break;
                 case OP_CODE_DISCONNECT_ANIMATED_NODE_FROM_VIEW:
-                  int animatedNodeTag = opsAndArgs.getInt(i++);
-                  viewTag = opsAndArgs.getInt(i++);
+                  int animatedNodeTag = operations.nextInt();
+                  viewTag = operations.nextInt();
                   decrementInFlightAnimationsForViewTag(viewTag);
                   animatedNodesManager.disconnectAnimatedNodeFromView(animatedNodeTag, viewTag);
                   break;
                 case OP_CODE_RESTORE_DEFAULT_VALUES:
-                  animatedNodesManager.restoreDefaultValues(opsAndArgs.getInt(i++));
+                  animatedNodesManager.restoreDefaultValues(operations.nextInt());
                   break;
                 case OP_CODE_DROP_ANIMATED_NODE:
-                  animatedNodesManager.dropAnimatedNode(opsAndArgs.getInt(i++));
+                  animatedNodesManager.dropAnimatedNode(operations.nextInt());
                   break;
                 case OP_CODE_ADD_ANIMATED_EVENT_TO_VIEW:
                   animatedNodesManager.addAnimatedEventToView(
-                      opsAndArgs.getInt(i++), opsAndArgs.getString(i++), opsAndArgs.getMap(i++));
+                      operations.nextInt(),
+                      operations.<String>nextObject(),
+                      operations.<ReadableMap>nextObject());
                   break;
                 case OP_CODE_REMOVE_ANIMATED_EVENT_FROM_VIEW:
-                  viewTag = opsAndArgs.getInt(i++);
+                  viewTag = operations.nextInt();
                   decrementInFlightAnimationsForViewTag(viewTag);
                   animatedNodesManager.removeAnimatedEventFromView(
-                      viewTag, opsAndArgs.getString(i++), opsAndArgs.getInt(i++));
+                      viewTag, operations.<String>nextObject(), operations.nextInt());
                   break;
                 case OP_CODE_ADD_LISTENER:
                 case OP_CODE_REMOVE_LISTENERS:
-                  i++;
-                  // ios only, do nothing on android besides incrementing the arg counter
+                  // ios only, do nothing on android
                   break;
                 default:
                   throw new IllegalArgumentException(
@@ -10,6 +10,7 @@ package com.facebook.react.animated;
 import android.util.SparseArray;
 import androidx.annotation.Nullable;
 import androidx.annotation.UiThread;
+import androidx.core.util.Pools;
 import com.facebook.common.logging.FLog;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Callback;
@@ -23,6 +24,7 @@ import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.UIManager;
 import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.uimanager.UIManagerHelper;
 import com.facebook.react.uimanager.common.UIManagerType;
 import com.facebook.react.uimanager.events.Event;
@@ -30,9 +32,10 @@ import com.facebook.react.uimanager.events.EventDispatcher;
 import com.facebook.react.uimanager.events.EventDispatcherListener;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.ListIterator;
+import java.util.Map;
 import java.util.Queue;
 
 /**
@@ -46,28 +49,63 @@ import java.util.Queue;
  * we expect to reach a special type of the node: PropsAnimatedNode that is then responsible for
  * calculating property map which can be sent to native view hierarchy to update the view.
  *
+ * <p>The graph is compiled into a topologically sorted evaluation plan the first frame after its
+ * topology changes, so that the following frames only walk flat arrays, see {@link
+ * #compileEvaluationPlan}.
+ *
  * <p>IMPORTANT: This class should be accessed only from the UI Thread
  */
 public class NativeAnimatedNodesManager implements EventDispatcherListener {
 
   private static final String TAG = "NativeAnimatedNodesManager";
+  // Frames further apart than this are not consecutive, the animation loop was idle in between.
+  private static final long MAX_FRAME_INTERVAL_NANOS = 50000000L;
+  private static final int VALUE_NODE_POOL_SIZE = 256;
 
   private final SparseArray<AnimatedNode> mAnimatedNodes = new SparseArray<>();
   private final SparseArray<AnimationDriver> mActiveAnimations = new SparseArray<>();
+  // Physics state of the `SpringAnimation`s of `mActiveAnimations`.
+  private final SpringAnimationSolver mSpringSolver = new SpringAnimationSolver();
   private final SparseArray<AnimatedNode> mUpdatedNodes = new SparseArray<>();
-  // List of event animation drivers for an event on view.
+  // Value nodes are the most created ones, dropped nodes are reused once nothing references them.
+  private final Pools.SimplePool<ValueAnimatedNode> mValueNodePool =
+      new Pools.SimplePool<>(VALUE_NODE_POOL_SIZE);
+  // Event animation drivers by event name, then by view tag.
   // There may be multiple drivers for the same event and view.
-  private final List<EventAnimationDriver> mEventDrivers = new ArrayList<>();
+  private final Map<String, SparseArray<List<EventAnimationDriver>>> mEventDrivers =
+      new HashMap<>();
+  private int mEventDriversCount = 0;
+  // Used to read values from events without building their data, see `handleEventLocked`.
+  private final double[] mEventValue = new double[1];
   private final ReactApplicationContext mReactApplicationContext;
   private int mAnimatedGraphBFSColor = 0;
   // Used to avoid allocating a new array on every frame in `runUpdates` and `onEventDispatch`.
-  private final List<AnimatedNode> mRunUpdateNodeList = new LinkedList<>();
+  private final List<AnimatedNode> mRunUpdateNodeList = new ArrayList<>();
+
+  // Evaluation plan, see `compileEvaluationPlan`. Nodes are indexed by their rank in topological
+  // order, which is stored in `AnimatedNode.mPlanIndex`.
+  private boolean mIsEvaluationPlanDirty = true;
+  private boolean mHasEvaluationPlan = false;
+  private AnimatedNode[] mPlanNodes = new AnimatedNode[0];
+  // Children of the node of rank `i` are the ranks `mPlanChildren[mPlanChildStart[i]]` to
+  // `mPlanChildren[mPlanChildStart[i + 1] - 1]`.
+  private int[] mPlanChildStart = new int[1];
+  private int[] mPlanChildren = new int[0];
+  private int[] mPlanMarks = new int[0];
+  private int mPlanColor = 0;
 
   private boolean mEventListenerInitializedForFabric = false;
   private boolean mEventListenerInitializedForNonFabric = false;
 
   private boolean mWarnedAboutGraphTraversal = false;
 
+  // Set when the graph is evaluated off the UI thread, see `AnimatedEvaluationThread`.
+  private @Nullable AnimatedEvaluationThread mEvaluationThread;
+
+  // Estimated interval between two frames, see `updateFrameInterval`.
+  private long mLastFrameTimeNanos = -1;
+  private long mFrameIntervalNanos = AnimationDriver.DEFAULT_FRAME_INTERVAL_NANOS;
+
   public NativeAnimatedNodesManager(ReactApplicationContext reactApplicationContext) {
     mReactApplicationContext = reactApplicationContext;
   }
@@ -97,6 +135,15 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     }
   }
 
+  /* package */ void setEvaluationThread(@Nullable AnimatedEvaluationThread evaluationThread) {
+    mEvaluationThread = evaluationThread;
+  }
+
+  /* package */ @Nullable
+  AnimatedEvaluationThread getEvaluationThread() {
+    return mEvaluationThread;
+  }
+
   @Nullable
   public AnimatedNode getNodeById(int id) {
     return mAnimatedNodes.get(id);
@@ -117,7 +164,7 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     if ("style".equals(type)) {
       node = new StyleAnimatedNode(config, this);
     } else if ("value".equals(type)) {
-      node = new ValueAnimatedNode(config);
+      node = obtainValueNode(config);
     } else if ("color".equals(type)) {
       node = new ColorAnimatedNode(config, this, mReactApplicationContext);
     } else if ("props".equals(type)) {
@@ -146,6 +193,7 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     node.mTag = tag;
     mAnimatedNodes.put(tag, node);
     mUpdatedNodes.put(tag, node);
+    mIsEvaluationPlanDirty = true;
   }
 
   @UiThread
@@ -165,8 +213,51 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
 
   @UiThread
   public void dropAnimatedNode(int tag) {
+    AnimatedNode node = mAnimatedNodes.get(tag);
     mAnimatedNodes.remove(tag);
     mUpdatedNodes.remove(tag);
+    mIsEvaluationPlanDirty = true;
+    if (node != null
+        && node.getClass() == ValueAnimatedNode.class
+        && isRecyclable((ValueAnimatedNode) node)) {
+      mValueNodePool.release((ValueAnimatedNode) node);
+    }
+  }
+
+  private ValueAnimatedNode obtainValueNode(ReadableMap config) {
+    ValueAnimatedNode node = mValueNodePool.acquire();
+    if (node == null) {
+      return new ValueAnimatedNode(config);
+    }
+    node.reinitialize(config);
+    return node;
+  }
+
+  /**
+   * A dropped node can only be reused when nothing references it anymore: no other node, animation,
+   * event driver or listener. JS usually disconnects and detaches a node before dropping it.
+   */
+  private boolean isRecyclable(ValueAnimatedNode node) {
+    if (node.mChildCount > 0 || node.mParentCount > 0 || node.hasValueListener()) {
+      return false;
+    }
+    for (int i = 0; i < mActiveAnimations.size(); i++) {
+      if (mActiveAnimations.valueAt(i).mAnimatedValue == node) {
+        return false;
+      }
+    }
+    if (mEventDriversCount > 0) {
+      for (SparseArray<List<EventAnimationDriver>> driversByView : mEventDrivers.values()) {
+        for (int i = 0; i < driversByView.size(); i++) {
+          for (EventAnimationDriver driver : driversByView.valueAt(i)) {
+            if (driver.mValueNode == node) {
+              return false;
+            }
+          }
+        }
+      }
+    }
+    return true;
   }
 
   @UiThread
@@ -273,7 +364,7 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     if ("frames".equals(type)) {
       animation = new FrameBasedAnimationDriver(animationConfig);
     } else if ("spring".equals(type)) {
-      animation = new SpringAnimation(animationConfig);
+      animation = new SpringAnimation(animationConfig, mSpringSolver);
     } else if ("decay".equals(type)) {
       animation = new DecayAnimation(animationConfig);
     } else {
@@ -310,6 +401,7 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
           mReactApplicationContext.emitDeviceEvent(
               "onNativeAnimatedModuleAnimationFinished", params);
         }
+        animation.onRemoved();
         mActiveAnimations.removeAt(i);
         i--;
       }
@@ -340,6 +432,7 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
           mReactApplicationContext.emitDeviceEvent(
               "onNativeAnimatedModuleAnimationFinished", params);
         }
+        animation.onRemoved();
         mActiveAnimations.removeAt(i);
         return;
       }
@@ -368,6 +461,7 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     }
     parentNode.addChild(childNode);
     mUpdatedNodes.put(childNodeTag, childNode);
+    mIsEvaluationPlanDirty = true;
   }
 
   public void disconnectAnimatedNodes(int parentNodeTag, int childNodeTag) {
@@ -387,6 +481,7 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     }
     parentNode.removeChild(childNode);
     mUpdatedNodes.put(childNodeTag, childNode);
+    mIsEvaluationPlanDirty = true;
   }
 
   @UiThread
@@ -522,7 +617,18 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
 
     EventAnimationDriver eventDriver =
         new EventAnimationDriver(eventName, viewTag, pathList, (ValueAnimatedNode) node);
-    mEventDrivers.add(eventDriver);
+    SparseArray<List<EventAnimationDriver>> driversByViewTag = mEventDrivers.get(eventName);
+    if (driversByViewTag == null) {
+      driversByViewTag = new SparseArray<>();
+      mEventDrivers.put(eventName, driversByViewTag);
+    }
+    List<EventAnimationDriver> drivers = driversByViewTag.get(viewTag);
+    if (drivers == null) {
+      drivers = new ArrayList<>(1);
+      driversByViewTag.put(viewTag, drivers);
+    }
+    drivers.add(eventDriver);
+    mEventDriversCount++;
   }
 
   @UiThread
@@ -531,16 +637,27 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
 
     String eventName = normalizeEventName(eventHandlerName);
 
-    ListIterator<EventAnimationDriver> it = mEventDrivers.listIterator();
-    while (it.hasNext()) {
-      EventAnimationDriver driver = it.next();
-      if (eventName.equals(driver.mEventName)
-          && viewTag == driver.mViewTag
-          && animatedValueTag == driver.mValueNode.mTag) {
-        it.remove();
+    SparseArray<List<EventAnimationDriver>> driversByViewTag = mEventDrivers.get(eventName);
+    if (driversByViewTag == null) {
+      return;
+    }
+    List<EventAnimationDriver> drivers = driversByViewTag.get(viewTag);
+    if (drivers == null) {
+      return;
+    }
+    for (int i = 0; i < drivers.size(); i++) {
+      if (animatedValueTag == drivers.get(i).mValueNode.mTag) {
+        drivers.remove(i);
+        mEventDriversCount--;
         break;
       }
     }
+    if (drivers.isEmpty()) {
+      driversByViewTag.remove(viewTag);
+      if (driversByViewTag.size() == 0) {
+        mEventDrivers.remove(eventName);
+      }
+    }
   }
 
   @Override
@@ -562,7 +679,18 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
 
   @UiThread
   private void handleEvent(Event event) {
-    if (!mEventDrivers.isEmpty()) {
+    synchronized (this) {
+      if (mEvaluationThread != null) {
+        // Props published by the evaluation thread are older than the ones of this event.
+        mEvaluationThread.applyViewUpdates();
+      }
+      handleEventLocked(event);
+    }
+  }
+
+  @UiThread
+  private void handleEventLocked(Event event) {
+    if (mEventDriversCount > 0) {
       // If the event has a different name in native convert it to it's JS name.
       // TODO T64216139 Remove dependency of UIManagerModule when the Constants are not in Native
       // anymore
@@ -575,13 +703,29 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
         return;
       }
 
+      String eventName = event.getEventName();
+      SparseArray<List<EventAnimationDriver>> driversByViewTag = mEventDrivers.get(eventName);
+      if (driversByViewTag == null) {
+        return;
+      }
+
       boolean foundAtLeastOneDriver = false;
+      // Some events, like bubbling pointer events, match the drivers of several views.
       Event.EventAnimationDriverMatchSpec matchSpec = event.getEventAnimationDriverMatchSpec();
-      for (EventAnimationDriver driver : mEventDrivers) {
-        if (matchSpec.match(driver.mViewTag, driver.mEventName)) {
+      for (int i = 0; i < driversByViewTag.size(); i++) {
+        if (!matchSpec.match(driversByViewTag.keyAt(i), eventName)) {
+          continue;
+        }
+        List<EventAnimationDriver> drivers = driversByViewTag.valueAt(i);
+        for (int j = 0; j < drivers.size(); j++) {
+          EventAnimationDriver driver = drivers.get(j);
           foundAtLeastOneDriver = true;
           stopAnimationsForNode(driver.mValueNode);
-          event.dispatch(driver);
+          if (event.getAnimatedEventValue(driver.mEventPath, mEventValue)) {
+            driver.mValueNode.mValue = mEventValue[0];
+          } else {
+            event.dispatch(driver);
+          }
           mRunUpdateNodeList.add(driver.mValueNode);
         }
       }
@@ -594,9 +738,10 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
   }
 
   /**
-   * Animation loop performs two BFSes over the graph of animated nodes. We use incremented {@code
-   * mAnimatedGraphBFSColor} to mark nodes as visited in each of the BFSes which saves additional
-   * loops for clearing "visited" states.
+   * Animation loop runs the evaluation plan from the nodes that were updated or are driven by an
+   * active animation, see {@link #runEvaluationPlan}. Without a plan, it performs two BFSes over
+   * the graph of animated nodes. We use incremented {@code mAnimatedGraphBFSColor} to mark nodes as
+   * visited in each of the BFSes which saves additional loops for clearing "visited" states.
    *
    * <p>First BFS starts with nodes that are in {@code mUpdatedNodes} (that is, their value have
    * been modified from JS in the last batch of JS operations) or directly attached to an active
@@ -607,7 +752,9 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
    */
   @UiThread
   public void runUpdates(long frameTimeNanos) {
-    UiThreadUtil.assertOnUiThread();
+    if (mEvaluationThread == null) {
+      UiThreadUtil.assertOnUiThread();
+    }
     boolean hasFinishedAnimations = false;
 
     for (int i = 0; i < mUpdatedNodes.size(); i++) {
@@ -618,9 +765,19 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     // Clean mUpdatedNodes queue
     mUpdatedNodes.clear();
 
+    updateFrameInterval(frameTimeNanos);
+    // The frame will be presented on the next vsync, animations target that time rather than the
+    // one the frame started at.
+    long animationTimeNanos =
+        ReactFeatureFlags.enableAnimatedPresentationTimePrediction
+            ? frameTimeNanos + mFrameIntervalNanos
+            : frameTimeNanos;
+    // Steps all the springs at once, their animations then read the result.
+    mSpringSolver.advance(animationTimeNanos);
     for (int i = 0; i < mActiveAnimations.size(); i++) {
       AnimationDriver animation = mActiveAnimations.valueAt(i);
-      animation.runAnimationStep(frameTimeNanos);
+      animation.mFrameIntervalNanos = mFrameIntervalNanos;
+      animation.runAnimationStep(animationTimeNanos);
       AnimatedNode valueNode = animation.mAnimatedValue;
       mRunUpdateNodeList.add(valueNode);
       if (animation.mHasFinished) {
@@ -651,14 +808,193 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
             mReactApplicationContext.emitDeviceEvent(
                 "onNativeAnimatedModuleAnimationFinished", params);
           }
+          animation.onRemoved();
           mActiveAnimations.removeAt(i);
         }
       }
     }
   }
 
+  /**
+   * Estimates the interval between two frames, which follows the refresh rate of the display. Each
+   * interval moves the estimate a quarter of the way, except the longer ones which are likely to be
+   * dropped frames and only move it slowly, so that a switch to a lower refresh rate is still
+   * followed.
+   */
+  private void updateFrameInterval(long frameTimeNanos) {
+    long intervalNanos = frameTimeNanos - mLastFrameTimeNanos;
+    if (mLastFrameTimeNanos >= 0
+        && intervalNanos > 0
+        && intervalNanos <= MAX_FRAME_INTERVAL_NANOS) {
+      if (intervalNanos * 2 < mFrameIntervalNanos * 3) {
+        mFrameIntervalNanos += (intervalNanos - mFrameIntervalNanos) / 4;
+      } else {
+        mFrameIntervalNanos += (intervalNanos - mFrameIntervalNanos) / 16;
+      }
+    }
+    mLastFrameTimeNanos = frameTimeNanos;
+  }
+
   @UiThread
   private void updateNodes(List<AnimatedNode> nodes) {
+    if (mIsEvaluationPlanDirty) {
+      compileEvaluationPlan();
+    }
+    if (mHasEvaluationPlan && runEvaluationPlan(nodes)) {
+      return;
+    }
+    traverseAndUpdateNodes(nodes);
+  }
+
+  /**
+   * Sorts all the nodes in topological order (Kahn's algorithm) and stores the result in flat
+   * arrays: the nodes by rank, and the ranks of their children. If the graph has a cycle no plan
+   * is made, and frames fall back to {@link #traverseAndUpdateNodes} which reports it.
+   */
+  @UiThread
+  private void compileEvaluationPlan() {
+    mIsEvaluationPlanDirty = false;
+    int nodesCount = mAnimatedNodes.size();
+    AnimatedNode[] nodes = new AnimatedNode[nodesCount];
+    for (int i = 0; i < nodesCount; i++) {
+      nodes[i] = mAnimatedNodes.valueAt(i);
+      nodes[i].mPlanIndex = i;
+    }
+
+    int edgesCount = 0;
+    int[] incomingCounts = new int[nodesCount];
+    for (AnimatedNode node : nodes) {
+      if (node.mChildren != null) {
+        for (int i = 0; i < node.mChildCount; i++) {
+          AnimatedNode child = node.mChildren[i];
+          int childIndex = child.mPlanIndex;
+          if (childIndex < 0 || childIndex >= nodesCount || nodes[childIndex] != child) {
+            // A child that was dropped while still connected, only the traversal can update it.
+            mHasEvaluationPlan = false;
+            return;
+          }
+          incomingCounts[childIndex]++;
+          edgesCount++;
+        }
+      }
+    }
+
+    int[] order = new int[nodesCount];
+    int orderedCount = 0;
+    for (int i = 0; i < nodesCount; i++) {
+      if (incomingCounts[i] == 0) {
+        order[orderedCount++] = i;
+      }
+    }
+    for (int next = 0; next < orderedCount; next++) {
+      AnimatedNode node = nodes[order[next]];
+      if (node.mChildren != null) {
+        for (int i = 0; i < node.mChildCount; i++) {
+          int childIndex = node.mChildren[i].mPlanIndex;
+          if (--incomingCounts[childIndex] == 0) {
+            order[orderedCount++] = childIndex;
+          }
+        }
+      }
+    }
+    if (orderedCount != nodesCount) {
+      mHasEvaluationPlan = false;
+      return;
+    }
+
+    mPlanNodes = new AnimatedNode[nodesCount];
+    for (int rank = 0; rank < nodesCount; rank++) {
+      mPlanNodes[rank] = nodes[order[rank]];
+      mPlanNodes[rank].mPlanIndex = rank;
+    }
+    mPlanChildStart = new int[nodesCount + 1];
+    mPlanChildren = new int[edgesCount];
+    int edge = 0;
+    for (int rank = 0; rank < nodesCount; rank++) {
+      mPlanChildStart[rank] = edge;
+      AnimatedNode node = mPlanNodes[rank];
+      for (int i = 0; i < node.mChildCount; i++) {
+        mPlanChildren[edge++] = node.mChildren[i].mPlanIndex;
+      }
+    }
+    mPlanChildStart[nodesCount] = edge;
+    mPlanMarks = new int[nodesCount];
+    mPlanColor = 0;
+    mHasEvaluationPlan = true;
+  }
+
+  /**
+   * Updates the given nodes and all their descendants, in topological order, by walking the plan
+   * from the lowest ranked node. Returns false, without updating anything, if one of the nodes is
+   * not part of the plan.
+   */
+  @UiThread
+  private boolean runEvaluationPlan(List<AnimatedNode> nodes) {
+    int nodesCount = mPlanNodes.length;
+    for (int i = 0; i < nodes.size(); i++) {
+      AnimatedNode node = nodes.get(i);
+      int rank = node.mPlanIndex;
+      if (rank < 0 || rank >= nodesCount || mPlanNodes[rank] != node) {
+        return false;
+      }
+    }
+
+    mPlanColor++;
+    if (mPlanColor == 0) {
+      // Marks are initialized to 0, see `mAnimatedGraphBFSColor`.
+      mPlanColor++;
+      Arrays.fill(mPlanMarks, 0);
+    }
+    int firstRank = nodesCount;
+    for (int i = 0; i < nodes.size(); i++) {
+      int rank = nodes.get(i).mPlanIndex;
+      mPlanMarks[rank] = mPlanColor;
+      firstRank = Math.min(firstRank, rank);
+    }
+
+    for (int rank = firstRank; rank < nodesCount; rank++) {
+      if (mPlanMarks[rank] != mPlanColor) {
+        continue;
+      }
+      updateNode(mPlanNodes[rank]);
+      for (int edge = mPlanChildStart[rank]; edge < mPlanChildStart[rank + 1]; edge++) {
+        mPlanMarks[mPlanChildren[edge]] = mPlanColor;
+      }
+    }
+    mWarnedAboutGraphTraversal = false;
+    return true;
+  }
+
+  @UiThread
+  private void updateNode(AnimatedNode node) {
+    try {
+      node.update();
+      if (node instanceof PropsAnimatedNode) {
+        // Send property updates to native view manager
+        ((PropsAnimatedNode) node).updateView();
+      }
+    } catch (JSApplicationCausedNativeException e) {
+      // An exception is thrown if the view hasn't been created yet. This can happen because
+      // views are created in batches. If this particular view didn't make it into a batch yet,
+      // the view won't exist and an exception will be thrown when attempting to start an
+      // animation on it.
+      //
+      // Eat the exception rather than crashing. The impact is that we may drop one or more
+      // frames of the animation.
+      FLog.e(TAG, "Native animation workaround, frame lost as result of race condition", e);
+    }
+    if (node instanceof ValueAnimatedNode) {
+      // Potentially send events to JS when the node's value is updated
+      ((ValueAnimatedNode) node).onValueUpdate();
+    }
+  }
+
+  /**
+   * Updates the given nodes and their descendants without a plan, used when the graph has a cycle
+   * or nodes that were dropped while still connected.
+   */
+  @UiThread
+  private void traverseAndUpdateNodes(List<AnimatedNode> nodes) {
     int activeNodesCount = 0;
     int updatedNodesCount = 0;
 
@@ -686,8 +1022,8 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     while (!nodesQueue.isEmpty()) {
       AnimatedNode nextNode = nodesQueue.poll();
       if (nextNode.mChildren != null) {
-        for (int i = 0; i < nextNode.mChildren.size(); i++) {
-          AnimatedNode child = nextNode.mChildren.get(i);
+        for (int i = 0; i < nextNode.mChildCount; i++) {
+          AnimatedNode child = nextNode.mChildren[i];
           child.mActiveIncomingNodes++;
           if (child.mBFSColor != mAnimatedGraphBFSColor) {
             child.mBFSColor = mAnimatedGraphBFSColor;
@@ -726,29 +1062,10 @@ public class NativeAnimatedNodesManager implements EventDispatcherListener {
     int cyclesDetected = 0;
     while (!nodesQueue.isEmpty()) {
       AnimatedNode nextNode = nodesQueue.poll();
-      try {
-        nextNode.update();
-        if (nextNode instanceof PropsAnimatedNode) {
-          // Send property updates to native view manager
-          ((PropsAnimatedNode) nextNode).updateView();
-        }
-      } catch (JSApplicationCausedNativeException e) {
-        // An exception is thrown if the view hasn't been created yet. This can happen because
-        // views are created in batches. If this particular view didn't make it into a batch yet,
-        // the view won't exist and an exception will be thrown when attempting to start an
-        // animation on it.
-        //
-        // Eat the exception rather than crashing. The impact is that we may drop one or more
-        // frames of the animation.
-        FLog.e(TAG, "Native animation workaround, frame lost as result of race condition", e);
-      }
-      if (nextNode instanceof ValueAnimatedNode) {
-        // Potentially send events to JS when the node's value is updated
-        ((ValueAnimatedNode) nextNode).onValueUpdate();
-      }
+      updateNode(nextNode);
       if (nextNode.mChildren != null) {
-        for (int i = 0; i < nextNode.mChildren.size(); i++) {
-          AnimatedNode child = nextNode.mChildren.get(i);
+        for (int i = 0; i < nextNode.mChildCount; i++) {
+          AnimatedNode child = nextNode.mChildren[i];
           child.mActiveIncomingNodes--;
           if (child.mBFSColor != mAnimatedGraphBFSColor && child.mActiveIncomingNodes == 0) {
             child.mBFSColor = mAnimatedGraphBFSColor;
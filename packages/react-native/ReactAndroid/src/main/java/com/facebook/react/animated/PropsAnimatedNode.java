@@ -14,11 +14,14 @@ import com.facebook.react.bridge.JavaOnlyMap;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableMapKeySetIterator;
 import com.facebook.react.bridge.UIManager;
+import com.facebook.react.config.ReactFeatureFlags;
 import com.facebook.react.uimanager.IllegalViewOperationException;
 import com.facebook.react.uimanager.common.UIManagerType;
 import com.facebook.react.uimanager.common.ViewUtil;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Animated node that represents view properties. There is a special handling logic implemented for
@@ -31,6 +34,16 @@ import java.util.Map;
   private final NativeAnimatedNodesManager mNativeAnimatedNodesManager;
   private final Map<String, Integer> mPropNodeMapping;
   private final JavaOnlyMap mPropMap;
+  // Same mapping as `mPropNodeMapping` with the setters of the props, iterated without allocating.
+  private final String[] mPropNames;
+  private final int[] mPropNodeTags;
+  private final @Nullable ViewPropertySetter[] mPropSetters;
+  // Props updated by `updateViewProperties`, which must be restored along with the ones of
+  // `mPropMap`. The props it can't set directly are collected in `mCollectedPropMap`, which is
+  // replaced after being sent so that it never holds a prop that has since been set directly.
+  private final Set<String> mUpdatedProps = new HashSet<>();
+  private JavaOnlyMap mCollectedPropMap = new JavaOnlyMap();
+  private boolean mHasCollectedProps = false;
   @Nullable private UIManager mUIManager;
 
   PropsAnimatedNode(ReadableMap config, NativeAnimatedNodesManager nativeAnimatedNodesManager) {
@@ -42,6 +55,16 @@ import java.util.Map;
       int nodeIndex = props.getInt(propKey);
       mPropNodeMapping.put(propKey, nodeIndex);
     }
+    mPropNames = new String[mPropNodeMapping.size()];
+    mPropNodeTags = new int[mPropNodeMapping.size()];
+    mPropSetters = new ViewPropertySetter[mPropNodeMapping.size()];
+    int i = 0;
+    for (Map.Entry<String, Integer> entry : mPropNodeMapping.entrySet()) {
+      mPropNames[i] = entry.getKey();
+      mPropNodeTags[i] = entry.getValue();
+      mPropSetters[i] = ViewPropertySetter.forProp(entry.getKey());
+      i++;
+    }
     mPropMap = new JavaOnlyMap();
     mNativeAnimatedNodesManager = nativeAnimatedNodesManager;
   }
@@ -86,6 +109,9 @@ import java.util.Map;
     while (it.hasNextKey()) {
       mPropMap.putNull(it.nextKey());
     }
+    for (String propName : mUpdatedProps) {
+      mPropMap.putNull(propName);
+    }
 
     mUIManager.synchronouslyUpdateViewOnUIThread(mConnectedViewTag, mPropMap);
   }
@@ -94,6 +120,15 @@ import java.util.Map;
     if (mConnectedViewTag == -1) {
       return;
     }
+    AnimatedEvaluationThread evaluationThread = mNativeAnimatedNodesManager.getEvaluationThread();
+    boolean isOnEvaluationThread = evaluationThread != null && evaluationThread.isCurrentThread();
+    if (ReactFeatureFlags.enableAnimatedViewPropertySetters && !isOnEvaluationThread) {
+      View view = getConnectedView();
+      if (view != null) {
+        updateViewProperties(view);
+        return;
+      }
+    }
     for (Map.Entry<String, Integer> entry : mPropNodeMapping.entrySet()) {
       @Nullable AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(entry.getValue());
       if (node == null) {
@@ -117,9 +152,43 @@ import java.util.Map;
       }
     }
 
+    if (isOnEvaluationThread) {
+      // The map is reused by the next frames, while the UI thread applies this one.
+      evaluationThread.enqueueViewUpdate(
+          mConnectedViewTag, mUIManager, JavaOnlyMap.deepClone(mPropMap));
+      return;
+    }
     mUIManager.synchronouslyUpdateViewOnUIThread(mConnectedViewTag, mPropMap);
   }
 
+  /**
+   * Sets the props that have a {@link ViewPropertySetter} on the view directly, and only sends the
+   * others through the UIManager, if any.
+   */
+  private void updateViewProperties(View view) {
+    if (mHasCollectedProps) {
+      mCollectedPropMap = new JavaOnlyMap();
+      mHasCollectedProps = false;
+    }
+    for (int i = 0; i < mPropNames.length; i++) {
+      @Nullable AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(mPropNodeTags[i]);
+      if (node == null) {
+        throw new IllegalArgumentException("Mapped property node does not exists");
+      } else if (node instanceof StyleAnimatedNode) {
+        mHasCollectedProps |=
+            ((StyleAnimatedNode) node).applyViewUpdates(view, mCollectedPropMap, mUpdatedProps);
+      } else {
+        mHasCollectedProps |=
+            ViewPropertySetter.applyOrCollect(
+                view, mPropNames[i], mPropSetters[i], node, mCollectedPropMap, mUpdatedProps);
+      }
+    }
+
+    if (mHasCollectedProps) {
+      mUIManager.synchronouslyUpdateViewOnUIThread(mConnectedViewTag, mCollectedPropMap);
+    }
+  }
+
   public View getConnectedView() {
     try {
       return mUIManager.resolveView(mConnectedViewTag);
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.animated;
+
+import java.util.Arrays;
+
+/**
+ * Solves the physics of all the {@link SpringAnimation}s of a {@link NativeAnimatedNodesManager}.
+ * The state of each spring is stored in a slot of parallel primitive arrays, so that {@link
+ * #advance} steps all the running springs of a frame in a single loop over contiguous memory,
+ * rather than each animation stepping its own objects. The terms of the oscillation that only
+ * depend on the configuration are computed once, when the spring is configured.
+ */
+/* package */ class SpringAnimationSolver {
+
+  private static final int INITIAL_CAPACITY = 8;
+  // maximum amount of time to simulate per step in seconds (4 frames at 60 FPS)
+  private static final double MAX_DELTA_TIME_SEC = 0.064;
+
+  // configuration
+  private double[] mStiffness = new double[INITIAL_CAPACITY];
+  private double[] mZeta = new double[INITIAL_CAPACITY];
+  private double[] mOmega0 = new double[INITIAL_CAPACITY];
+  private double[] mOmega1 = new double[INITIAL_CAPACITY];
+  private double[] mInitialVelocity = new double[INITIAL_CAPACITY];
+  private double[] mRestSpeedThreshold = new double[INITIAL_CAPACITY];
+  private double[] mDisplacementFromRestThreshold = new double[INITIAL_CAPACITY];
+  private boolean[] mOvershootClampingEnabled = new boolean[INITIAL_CAPACITY];
+
+  // physics state
+  private double[] mStartValue = new double[INITIAL_CAPACITY];
+  private double[] mEndValue = new double[INITIAL_CAPACITY];
+  private double[] mPosition = new double[INITIAL_CAPACITY];
+  private double[] mVelocity = new double[INITIAL_CAPACITY];
+  private double[] mTimeAccumulator = new double[INITIAL_CAPACITY];
+  private long[] mLastTimeNanos = new long[INITIAL_CAPACITY];
+  private boolean[] mIsRunning = new boolean[INITIAL_CAPACITY];
+  private boolean[] mIsStepped = new boolean[INITIAL_CAPACITY];
+
+  // slots below this index are either in use or in `mFreeSlots`
+  private int mSlotCount = 0;
+  private int[] mFreeSlots = new int[INITIAL_CAPACITY];
+  private int mFreeSlotCount = 0;
+
+  /** Returns the slot of a new spring, at rest until it is configured and started. */
+  int allocate() {
+    int slot;
+    if (mFreeSlotCount > 0) {
+      slot = mFreeSlots[--mFreeSlotCount];
+    } else {
+      if (mSlotCount == mIsRunning.length) {
+        grow(mSlotCount * 2);
+      }
+      slot = mSlotCount++;
+    }
+    mIsRunning[slot] = false;
+    mVelocity[slot] = 0;
+    return slot;
+  }
+
+  void release(int slot) {
+    mIsRunning[slot] = false;
+    mFreeSlots[mFreeSlotCount++] = slot;
+  }
+
+  /** Configures a spring, which stops running until it is started again. */
+  void configure(
+      int slot,
+      double stiffness,
+      double damping,
+      double mass,
+      double initialVelocity,
+      double endValue,
+      double restSpeedThreshold,
+      double displacementFromRestThreshold,
+      boolean overshootClampingEnabled) {
+    double zeta = damping / (2 * Math.sqrt(stiffness * mass));
+    double omega0 = Math.sqrt(stiffness / mass);
+    mStiffness[slot] = stiffness;
+    mZeta[slot] = zeta;
+    mOmega0[slot] = omega0;
+    mOmega1[slot] = omega0 * Math.sqrt(1.0 - (zeta * zeta));
+    mInitialVelocity[slot] = initialVelocity;
+    mEndValue[slot] = endValue;
+    mRestSpeedThreshold[slot] = restSpeedThreshold;
+    mDisplacementFromRestThreshold[slot] = displacementFromRestThreshold;
+    mOvershootClampingEnabled[slot] = overshootClampingEnabled;
+    mIsRunning[slot] = false;
+  }
+
+  /** Starts a spring from {@code position} at {@code timeNanos}, it runs until it is at rest. */
+  void start(int slot, double position, long timeNanos) {
+    mStartValue[slot] = position;
+    mPosition[slot] = position;
+    mTimeAccumulator[slot] = 0;
+    mLastTimeNanos[slot] = timeNanos;
+    mIsStepped[slot] = false;
+    mIsRunning[slot] = true;
+  }
+
+  /** Steps all the running springs to {@code timeNanos}. */
+  void advance(long timeNanos) {
+    for (int i = 0; i < mSlotCount; i++) {
+      if (mIsRunning[i]) {
+        step(i, timeNanos);
+      }
+    }
+  }
+
+  /** Steps a spring to {@code timeNanos}, unless {@link #advance} already did. */
+  void step(int slot, long timeNanos) {
+    if (mIsStepped[slot] && mLastTimeNanos[slot] == timeNanos) {
+      return;
+    }
+    // Elapsed time is kept at nanosecond precision since frames of high refresh rate displays
+    // aren't a whole number of milliseconds.
+    double realDeltaTime = (timeNanos - mLastTimeNanos[slot]) / 1000000000.0;
+    mLastTimeNanos[slot] = timeNanos;
+    mIsStepped[slot] = true;
+    if (isAtRest(slot)) {
+      return;
+    }
+
+    // clamp the amount of realTime to simulate to avoid stuttering in the UI. We should be able
+    // to catch up in a subsequent step if necessary.
+    mTimeAccumulator[slot] += Math.min(realDeltaTime, MAX_DELTA_TIME_SEC);
+
+    double endValue = mEndValue[slot];
+    double zeta = mZeta[slot];
+    double omega0 = mOmega0[slot];
+    double omega1 = mOmega1[slot];
+    double v0 = -mInitialVelocity[slot];
+    double x0 = endValue - mStartValue[slot];
+    double t = mTimeAccumulator[slot];
+
+    double velocity;
+    double position;
+    if (zeta < 1) {
+      // Under damped
+      double envelope = Math.exp(-zeta * omega0 * t);
+      double sin = Math.sin(omega1 * t);
+      double cos = Math.cos(omega1 * t);
+      position = endValue - envelope * ((v0 + zeta * omega0 * x0) / omega1 * sin + x0 * cos);
+      // This looks crazy -- it's actually just the derivative of the
+      // oscillation function
+      velocity =
+          zeta * omega0 * envelope * (sin * (v0 + zeta * omega0 * x0) / omega1 + x0 * cos)
+              - envelope * (cos * (v0 + zeta * omega0 * x0) - omega1 * x0 * sin);
+    } else {
+      // Critically damped spring
+      double envelope = Math.exp(-omega0 * t);
+      position = endValue - envelope * (x0 + (v0 + omega0 * x0) * t);
+      velocity = envelope * (v0 * (t * omega0 - 1) + t * x0 * (omega0 * omega0));
+    }
+
+    mPosition[slot] = position;
+    mVelocity[slot] = velocity;
+
+    // End the spring immediately if it is overshooting and overshoot clamping is enabled.
+    // Also make sure that if the spring was considered within a resting threshold that it's now
+    // snapped to its end value.
+    if (isAtRest(slot) || (mOvershootClampingEnabled[slot] && isOvershooting(slot))) {
+      if (mStiffness[slot] > 0) {
+        mStartValue[slot] = endValue;
+        mPosition[slot] = endValue;
+      } else {
+        mEndValue[slot] = position;
+        mStartValue[slot] = position;
+      }
+      mVelocity[slot] = 0;
+    }
+  }
+
+  double getPosition(int slot) {
+    return mPosition[slot];
+  }
+
+  double getVelocity(int slot) {
+    return mVelocity[slot];
+  }
+
+  void setVelocity(int slot, double velocity) {
+    mVelocity[slot] = velocity;
+  }
+
+  /** Check if a spring is at rest. */
+  boolean isAtRest(int slot) {
+    return Math.abs(mVelocity[slot]) <= mRestSpeedThreshold[slot]
+        && (Math.abs(mEndValue[slot] - mPosition[slot]) <= mDisplacementFromRestThreshold[slot]
+            || mStiffness[slot] == 0);
+  }
+
+  /** Check if a spring is overshooting beyond its target. */
+  private boolean isOvershooting(int slot) {
+    double startValue = mStartValue[slot];
+    double endValue = mEndValue[slot];
+    double position = mPosition[slot];
+    return mStiffness[slot] > 0
+        && ((startValue < endValue && position > endValue)
+            || (startValue > endValue && position < endValue));
+  }
+
+  private void grow(int capacity) {
+    mStiffness = Arrays.copyOf(mStiffness, capacity);
+    mZeta = Arrays.copyOf(mZeta, capacity);
+    mOmega0 = Arrays.copyOf(mOmega0, capacity);
+    mOmega1 = Arrays.copyOf(mOmega1, capacity);
+    mInitialVelocity = Arrays.copyOf(mInitialVelocity, capacity);
+    mRestSpeedThreshold = Arrays.copyOf(mRestSpeedThreshold, capacity);
+    mDisplacementFromRestThreshold = Arrays.copyOf(mDisplacementFromRestThreshold, capacity);
+    mOvershootClampingEnabled = Arrays.copyOf(mOvershootClampingEnabled, capacity);
+    mStartValue = Arrays.copyOf(mStartValue, capacity);
+    mEndValue = Arrays.copyOf(mEndValue, capacity);
+    mPosition = Arrays.copyOf(mPosition, capacity);
+    mVelocity = Arrays.copyOf(mVelocity, capacity);
+    mTimeAccumulator = Arrays.copyOf(mTimeAccumulator, capacity);
+    mLastTimeNanos = Arrays.copyOf(mLastTimeNanos, capacity);
+    mIsRunning = Arrays.copyOf(mIsRunning, capacity);
+    mIsStepped = Arrays.copyOf(mIsStepped, capacity);
+    mFreeSlots = Arrays.copyOf(mFreeSlots, capacity);
+  }
+}
@@ -7,12 +7,15 @@
 
 package com.facebook.react.animated;
 
+import android.view.View;
 import androidx.annotation.Nullable;
 import com.facebook.react.bridge.JavaOnlyMap;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.ReadableMapKeySetIterator;
+import com.facebook.react.uimanager.ViewProps;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Native counterpart of style animated node (see AnimatedStyle class in AnimatedImplementation.js)
@@ -21,6 +24,10 @@ import java.util.Map;
 
   private final NativeAnimatedNodesManager mNativeAnimatedNodesManager;
   private final Map<String, Integer> mPropMapping;
+  // Same mapping as `mPropMapping` with the setters of the props, iterated without allocating.
+  private final String[] mPropNames;
+  private final int[] mPropNodeTags;
+  private final @Nullable ViewPropertySetter[] mPropSetters;
 
   StyleAnimatedNode(ReadableMap config, NativeAnimatedNodesManager nativeAnimatedNodesManager) {
     ReadableMap style = config.getMap("style");
@@ -31,9 +38,45 @@ import java.util.Map;
       int nodeIndex = style.getInt(propKey);
       mPropMapping.put(propKey, nodeIndex);
     }
+    mPropNames = new String[mPropMapping.size()];
+    mPropNodeTags = new int[mPropMapping.size()];
+    mPropSetters = new ViewPropertySetter[mPropMapping.size()];
+    int i = 0;
+    for (Map.Entry<String, Integer> entry : mPropMapping.entrySet()) {
+      mPropNames[i] = entry.getKey();
+      mPropNodeTags[i] = entry.getValue();
+      mPropSetters[i] = ViewPropertySetter.forProp(entry.getKey());
+      i++;
+    }
     mNativeAnimatedNodesManager = nativeAnimatedNodesManager;
   }
 
+  /**
+   * Sets the style props that have a {@link ViewPropertySetter} and the simple transforms on the
+   * view directly, and collects the others in {@code propsMap}. Every prop is added to {@code
+   * updatedProps}. Returns true if any prop was collected in {@code propsMap}.
+   */
+  public boolean applyViewUpdates(View view, JavaOnlyMap propsMap, Set<String> updatedProps) {
+    boolean hasCollectedProps = false;
+    for (int i = 0; i < mPropNames.length; i++) {
+      @Nullable AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(mPropNodeTags[i]);
+      if (node == null) {
+        throw new IllegalArgumentException("Mapped style node does not exists");
+      } else if (node instanceof TransformAnimatedNode) {
+        updatedProps.add(ViewProps.TRANSFORM);
+        if (!((TransformAnimatedNode) node).applyToView(view)) {
+          ((TransformAnimatedNode) node).collectViewUpdates(propsMap);
+          hasCollectedProps = true;
+        }
+      } else {
+        hasCollectedProps |=
+            ViewPropertySetter.applyOrCollect(
+                view, mPropNames[i], mPropSetters[i], node, propsMap, updatedProps);
+      }
+    }
+    return hasCollectedProps;
+  }
+
   public void collectViewUpdates(JavaOnlyMap propsMap) {
     for (Map.Entry<String, Integer> entry : mPropMapping.entrySet()) {
       @Nullable AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(entry.getValue());
@@ -7,10 +7,12 @@
 
 package com.facebook.react.animated;
 
+import android.view.View;
 import com.facebook.react.bridge.JavaOnlyArray;
 import com.facebook.react.bridge.JavaOnlyMap;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.uimanager.PixelUtil;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,8 +22,18 @@ import java.util.List;
  */
 /* package */ class TransformAnimatedNode extends AnimatedNode {
 
+  // Transforms that can be set on the view properties directly, see `applyToView`.
+  private static final int TYPE_OTHER = 0;
+  private static final int TYPE_TRANSLATE_X = 1;
+  private static final int TYPE_TRANSLATE_Y = 2;
+  private static final int TYPE_ROTATE = 3;
+  private static final int TYPE_SCALE = 4;
+  private static final int TYPE_SCALE_X = 5;
+  private static final int TYPE_SCALE_Y = 6;
+
   private class TransformConfig {
     public String mProperty;
+    public int mType;
   }
 
   private class AnimatedTransformConfig extends TransformConfig {
@@ -34,6 +46,7 @@ import java.util.List;
 
   private final NativeAnimatedNodesManager mNativeAnimatedNodesManager;
   private final List<TransformConfig> mTransformConfigs;
+  private final boolean mCanApplyToView;
 
   TransformAnimatedNode(ReadableMap config, NativeAnimatedNodesManager nativeAnimatedNodesManager) {
     ReadableArray transforms = config.getArray("transforms");
@@ -55,34 +68,136 @@ import java.util.List;
       }
     }
     mNativeAnimatedNodesManager = nativeAnimatedNodesManager;
+
+    // The view properties apply the scale, then the rotation, then the translation, while the last
+    // transform of the list is applied first: only translations, followed by at most one rotation,
+    // followed by scales can be represented.
+    boolean canApplyToView = true;
+    int previousType = TYPE_TRANSLATE_X;
+    for (TransformConfig transformConfig : mTransformConfigs) {
+      transformConfig.mType = getTransformType(transformConfig.mProperty);
+      int type = transformConfig.mType;
+      if (type == TYPE_OTHER
+          || (type == TYPE_ROTATE && previousType == TYPE_ROTATE)
+          || (type <= TYPE_TRANSLATE_Y && previousType > TYPE_TRANSLATE_Y)
+          || (type == TYPE_ROTATE && previousType > TYPE_ROTATE)) {
+        canApplyToView = false;
+      }
+      previousType = type;
+    }
+    mCanApplyToView = canApplyToView;
   }
 
-  public void collectViewUpdates(JavaOnlyMap propsMap) {
-    List<JavaOnlyMap> transforms = new ArrayList<>(mTransformConfigs.size());
+  private static int getTransformType(String property) {
+    switch (property) {
+      case "translateX":
+        return TYPE_TRANSLATE_X;
+      case "translateY":
+        return TYPE_TRANSLATE_Y;
+      case "rotate":
+      case "rotateZ":
+        return TYPE_ROTATE;
+      case "scale":
+        return TYPE_SCALE;
+      case "scaleX":
+        return TYPE_SCALE_X;
+      case "scaleY":
+        return TYPE_SCALE_Y;
+      default:
+        return TYPE_OTHER;
+    }
+  }
 
-    for (TransformConfig transformConfig : mTransformConfigs) {
-      double value;
-      if (transformConfig instanceof AnimatedTransformConfig) {
-        int nodeTag = ((AnimatedTransformConfig) transformConfig).mNodeTag;
-        AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(nodeTag);
-        if (node == null) {
-          throw new IllegalArgumentException("Mapped style node does not exists");
-        } else if (node instanceof ValueAnimatedNode) {
-          value = ((ValueAnimatedNode) node).getValue();
-        } else {
-          throw new IllegalArgumentException(
-              "Unsupported type of node used as a transform child " + "node " + node.getClass());
-        }
+  private double getTransformValue(TransformConfig transformConfig) {
+    if (transformConfig instanceof AnimatedTransformConfig) {
+      int nodeTag = ((AnimatedTransformConfig) transformConfig).mNodeTag;
+      AnimatedNode node = mNativeAnimatedNodesManager.getNodeById(nodeTag);
+      if (node == null) {
+        throw new IllegalArgumentException("Mapped style node does not exists");
+      } else if (node instanceof ValueAnimatedNode) {
+        return ((ValueAnimatedNode) node).getValue();
       } else {
-        value = ((StaticTransformConfig) transformConfig).mValue;
+        throw new IllegalArgumentException(
+            "Unsupported type of node used as a transform child " + "node " + node.getClass());
       }
+    } else {
+      return ((StaticTransformConfig) transformConfig).mValue;
+    }
+  }
 
-      transforms.add(JavaOnlyMap.of(transformConfig.mProperty, value));
+  public void collectViewUpdates(JavaOnlyMap propsMap) {
+    List<JavaOnlyMap> transforms = new ArrayList<>(mTransformConfigs.size());
+
+    for (TransformConfig transformConfig : mTransformConfigs) {
+      transforms.add(JavaOnlyMap.of(transformConfig.mProperty, getTransformValue(transformConfig)));
     }
 
     propsMap.putArray("transform", JavaOnlyArray.from(transforms));
   }
 
+  /**
+   * Sets the transform on the view properties directly, like {@code BaseViewManager} does once it
+   * has decomposed the transform matrix. Returns false if the transform can't be represented by
+   * the view properties, and must be collected with {@link #collectViewUpdates} instead.
+   */
+  public boolean applyToView(View view) {
+    if (!mCanApplyToView) {
+      return false;
+    }
+    double translateX = 0;
+    double translateY = 0;
+    double rotation = 0;
+    double scaleX = 1;
+    double scaleY = 1;
+    for (int i = 0; i < mTransformConfigs.size(); i++) {
+      TransformConfig transformConfig = mTransformConfigs.get(i);
+      double value = getTransformValue(transformConfig);
+      switch (transformConfig.mType) {
+        case TYPE_TRANSLATE_X:
+          translateX += value;
+          break;
+        case TYPE_TRANSLATE_Y:
+          translateY += value;
+          break;
+        case TYPE_ROTATE:
+          rotation = value;
+          break;
+        case TYPE_SCALE:
+          scaleX *= value;
+          scaleY *= value;
+          break;
+        case TYPE_SCALE_X:
+          scaleX *= value;
+          break;
+        case TYPE_SCALE_Y:
+          scaleY *= value;
+          break;
+      }
+    }
+    // A matrix decomposition turns negative scales into rotations, leave those to the view manager.
+    if (!(scaleX > 0 && scaleY > 0)
+        || !isFinite(scaleX)
+        || !isFinite(scaleY)
+        || !isFinite(translateX)
+        || !isFinite(translateY)
+        || !isFinite(rotation)) {
+      return false;
+    }
+    view.setTranslationX(PixelUtil.toPixelFromDIP(translateX));
+    view.setTranslationY(PixelUtil.toPixelFromDIP(translateY));
+    // Rotations are in radians, see TransformHelper.
+    view.setRotation((float) Math.toDegrees(rotation));
+    view.setRotationX(0);
+    view.setRotationY(0);
+    view.setScaleX((float) scaleX);
+    view.setScaleY((float) scaleY);
+    return true;
+  }
+
+  private static boolean isFinite(double value) {
+    return !Double.isNaN(value) && !Double.isInfinite(value);
+  }
+
   @Override
   public String prettyPrint() {
     return "TransformAnimatedNode["
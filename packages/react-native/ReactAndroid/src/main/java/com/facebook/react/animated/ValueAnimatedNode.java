@@ -28,6 +28,13 @@ import com.facebook.react.bridge.ReadableMap;
     mOffset = config.getDouble("offset");
   }
 
+  /** Reinitializes a node taken from the pool of {@link NativeAnimatedNodesManager}. */
+  /*package*/ void reinitialize(ReadableMap config) {
+    resetGraphState();
+    mValue = config.getDouble("value");
+    mOffset = config.getDouble("offset");
+  }
+
   public double getValue() {
     if (Double.isNaN(mOffset + mValue)) {
       this.update();
@@ -60,6 +67,10 @@ import com.facebook.react.bridge.ReadableMap;
     mValueListener = listener;
   }
 
+  /*package*/ boolean hasValueListener() {
+    return mValueListener != null;
+  }
+
   public String prettyPrint() {
     return "ValueAnimatedNode[" + mTag + "]: value: " + mValue + " offset: " + mOffset;
   }
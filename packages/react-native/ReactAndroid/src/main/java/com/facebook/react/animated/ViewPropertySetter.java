@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.animated;
+
+import android.view.View;
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.uimanager.ViewProps;
+import java.util.Set;
+
+/**
+ * Sets an animated prop on a view directly, the same way its view manager would, without going
+ * through the props map and the prop setters resolved by name in the UIManager. Setters are
+ * resolved once, when the animated nodes are created. Transforms are handled by {@link
+ * TransformAnimatedNode#applyToView}.
+ */
+/* package */ abstract class ViewPropertySetter {
+
+  private static final ViewPropertySetter OPACITY =
+      new ViewPropertySetter() {
+        @Override
+        void set(View view, double value) {
+          view.setAlpha((float) value);
+        }
+      };
+
+  private static final ViewPropertySetter BACKGROUND_COLOR =
+      new ViewPropertySetter() {
+        @Override
+        void set(View view, double value) {
+          view.setBackgroundColor((int) value);
+        }
+      };
+
+  /** Returns the setter of a prop, or null if the prop must be set by the view manager. */
+  static @Nullable ViewPropertySetter forProp(String propName) {
+    if (ViewProps.OPACITY.equals(propName)) {
+      return OPACITY;
+    } else if (ViewProps.BACKGROUND_COLOR.equals(propName)) {
+      return BACKGROUND_COLOR;
+    }
+    return null;
+  }
+
+  abstract void set(View view, double value);
+
+  /**
+   * Sets the value of {@code node} on the view when there is a setter for it. Otherwise puts the
+   * value in {@code propsMap}, to be set by the view manager, and returns true. The prop is added
+   * to {@code updatedProps} either way.
+   */
+  static boolean applyOrCollect(
+      View view,
+      String propName,
+      @Nullable ViewPropertySetter setter,
+      AnimatedNode node,
+      JavaOnlyMap propsMap,
+      Set<String> updatedProps) {
+    updatedProps.add(propName);
+    if (node instanceof ValueAnimatedNode) {
+      Object animatedObject = ((ValueAnimatedNode) node).getAnimatedObject();
+      if (animatedObject instanceof Integer) {
+        if (setter != null) {
+          setter.set(view, (Integer) animatedObject);
+          return false;
+        }
+        propsMap.putInt(propName, (Integer) animatedObject);
+      } else if (animatedObject instanceof String) {
+        propsMap.putString(propName, (String) animatedObject);
+      } else {
+        double value = ((ValueAnimatedNode) node).getValue();
+        if (setter != null) {
+          setter.set(view, value);
+          return false;
+        }
+        propsMap.putDouble(propName, value);
+      }
+    } else if (node instanceof ColorAnimatedNode) {
+      int color = ((ColorAnimatedNode) node).getColor();
+      if (setter != null) {
+        setter.set(view, color);
+        return false;
+      }
+      propsMap.putInt(propName, color);
+    } else {
+      throw new IllegalArgumentException(
+          "Unsupported type of node used in property node " + node.getClass());
+    }
+    return true;
+  }
+}
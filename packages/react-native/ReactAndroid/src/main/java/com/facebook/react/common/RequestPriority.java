@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.common;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Priorities JS can give to network requests and image prefetches, as {@code "high"}, {@code
+ * "normal"} or {@code "low"}. Lower values are scheduled first.
+ */
+public class RequestPriority {
+
+  public static final int HIGH = 0;
+  public static final int NORMAL = 1;
+  public static final int LOW = 2;
+  public static final int COUNT = 3;
+
+  private RequestPriority() {}
+
+  /** Parses the priority sent from JS, defaulting to {@link #NORMAL}. */
+  public static int parse(@Nullable String priority) {
+    if ("high".equals(priority)) {
+      return HIGH;
+    } else if ("low".equals(priority)) {
+      return LOW;
+    }
+    return NORMAL;
+  }
+}
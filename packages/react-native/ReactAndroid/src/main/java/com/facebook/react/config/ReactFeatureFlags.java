@@ -145,4 +145,28 @@ public class ReactFeatureFlags {
    * HostObject pattern
    */
   public static boolean useNativeState = false;
+
+  /**
+   * Natively driven animations set opacity, background color and simple transforms on the views
+   * directly, instead of sending them through the UIManager as a props map.
+   */
+  public static boolean enableAnimatedViewPropertySetters = false;
+
+  /**
+   * Natively driven animations are evaluated on a dedicated thread, and only the resulting view
+   * props are applied on the UI thread.
+   */
+  public static boolean enableAnimatedOffMainThreadEvaluation = false;
+
+  /**
+   * Natively driven animations compute their values for the time the frame will be presented at,
+   * one frame interval after the frame time given by the Choreographer.
+   */
+  public static boolean enableAnimatedPresentationTimePrediction = false;
+
+  /**
+   * Layout update animations lay views out at their final frame once, and animate their
+   * translation and scale from the previous frame instead of laying them out on every frame.
+   */
+  public static boolean enableLayoutAnimationPropertyAnimators = false;
 }
@@ -11,6 +11,7 @@ import android.content.res.Resources;
 import android.database.Cursor;
 import android.net.Uri;
 import android.provider.MediaStore;
+import android.util.SparseIntArray;
 import android.webkit.MimeTypeMap;
 import androidx.annotation.Nullable;
 import com.facebook.fbreact.specs.NativeBlobModuleSpec;
@@ -29,16 +30,19 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import okhttp3.MediaType;
 import okhttp3.RequestBody;
 import okhttp3.ResponseBody;
+import okio.Buffer;
 import okio.ByteString;
 
 @ReactModule(name = NativeBlobModuleSpec.NAME)
@@ -138,6 +142,78 @@ public class BlobModule extends NativeBlobModuleSpec {
         }
       };
 
+  /**
+   * Response type for requests whose body is delivered as a sequence of blobs, one per chunk read
+   * from the network, instead of a single blob holding the whole body. JS releases each chunk once
+   * it has been delivered, and the body is only read ahead of JS by {@link
+   * #MAX_PENDING_STREAM_CHUNKS} chunks.
+   */
+  public static final String STREAMING_RESPONSE_TYPE = "blobStream";
+
+  private static final int MAX_PENDING_STREAM_CHUNKS = 4;
+
+  // Chunks of streamed responses that JS didn't release yet, by blob id, with their request id.
+  private final Map<String, Integer> mPendingStreamChunks = new HashMap<>();
+  private final SparseIntArray mPendingStreamChunkCounts = new SparseIntArray();
+
+  private final NetworkingModule.StreamingResponseHandler mNetworkingStreamingResponseHandler =
+      new NetworkingModule.StreamingResponseHandler() {
+        @Override
+        public boolean supports(String responseType) {
+          return STREAMING_RESPONSE_TYPE.equals(responseType);
+        }
+
+        @Override
+        public WritableMap toChunkData(int requestId, Buffer chunk) throws IOException {
+          byte[] data = chunk.readByteArray();
+          String blobId = store(data);
+          synchronized (mPendingStreamChunks) {
+            mPendingStreamChunks.put(blobId, requestId);
+            mPendingStreamChunkCounts.put(
+                requestId, mPendingStreamChunkCounts.get(requestId) + 1);
+          }
+          WritableMap blob = Arguments.createMap();
+          blob.putString("blobId", blobId);
+          blob.putInt("offset", 0);
+          blob.putInt("size", data.length);
+          return blob;
+        }
+
+        @Override
+        public void awaitChunksConsumed(int requestId, long timeoutMs)
+            throws InterruptedIOException {
+          synchronized (mPendingStreamChunks) {
+            long deadline = System.currentTimeMillis() + timeoutMs;
+            long remaining = timeoutMs;
+            while (mPendingStreamChunkCounts.get(requestId) >= MAX_PENDING_STREAM_CHUNKS
+                && remaining > 0) {
+              try {
+                mPendingStreamChunks.wait(remaining);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+              }
+              remaining = deadline - System.currentTimeMillis();
+            }
+          }
+        }
+
+        @Override
+        public void onStreamFailed(int requestId) {
+          List<String> blobIds = new ArrayList<>();
+          synchronized (mPendingStreamChunks) {
+            for (Map.Entry<String, Integer> entry : mPendingStreamChunks.entrySet()) {
+              if (entry.getValue() == requestId) {
+                blobIds.add(entry.getKey());
+              }
+            }
+          }
+          for (String blobId : blobIds) {
+            remove(blobId);
+          }
+        }
+      };
+
   public BlobModule(ReactApplicationContext reactContext) {
     super(reactContext);
   }
@@ -179,6 +255,18 @@ public class BlobModule extends NativeBlobModuleSpec {
     synchronized (mBlobs) {
       mBlobs.remove(blobId);
     }
+    synchronized (mPendingStreamChunks) {
+      Integer requestId = mPendingStreamChunks.remove(blobId);
+      if (requestId != null) {
+        int count = mPendingStreamChunkCounts.get(requestId) - 1;
+        if (count > 0) {
+          mPendingStreamChunkCounts.put(requestId, count);
+        } else {
+          mPendingStreamChunkCounts.delete(requestId);
+        }
+        mPendingStreamChunks.notifyAll();
+      }
+    }
   }
 
   public @Nullable byte[] resolve(Uri uri) {
@@ -298,6 +386,7 @@ public class BlobModule extends NativeBlobModuleSpec {
       networkingModule.addUriHandler(mNetworkingUriHandler);
       networkingModule.addRequestBodyHandler(mNetworkingRequestBodyHandler);
       networkingModule.addResponseHandler(mNetworkingResponseHandler);
+      networkingModule.addStreamingResponseHandler(mNetworkingStreamingResponseHandler);
     }
   }
 
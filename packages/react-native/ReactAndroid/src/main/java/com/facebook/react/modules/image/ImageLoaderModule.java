@@ -9,17 +9,23 @@ package com.facebook.react.modules.image;
 
 import android.net.Uri;
 import android.text.TextUtils;
+import android.util.LruCache;
 import android.util.SparseArray;
+import android.view.ViewGroup;
 import androidx.annotation.Nullable;
 import com.facebook.common.executors.CallerThreadExecutor;
+import com.facebook.common.memory.PooledByteBuffer;
 import com.facebook.common.references.CloseableReference;
+import com.facebook.common.util.UriUtil;
 import com.facebook.datasource.BaseDataSubscriber;
 import com.facebook.datasource.DataSource;
 import com.facebook.datasource.DataSubscriber;
 import com.facebook.drawee.backends.pipeline.Fresco;
 import com.facebook.fbreact.specs.NativeImageLoaderAndroidSpec;
+import com.facebook.imagepipeline.common.Priority;
 import com.facebook.imagepipeline.core.ImagePipeline;
 import com.facebook.imagepipeline.image.CloseableImage;
+import com.facebook.imagepipeline.image.EncodedImage;
 import com.facebook.imagepipeline.request.ImageRequest;
 import com.facebook.imagepipeline.request.ImageRequestBuilder;
 import com.facebook.react.bridge.Arguments;
@@ -31,10 +37,19 @@ import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.common.RequestPriority;
 import com.facebook.react.module.annotations.ReactModule;
 import com.facebook.react.modules.fresco.ReactNetworkImageRequest;
 import com.facebook.react.views.image.ReactCallerContextFactory;
 import com.facebook.react.views.imagehelper.ImageSource;
+import com.facebook.react.views.scroll.ReactScrollViewHelper;
+import com.facebook.react.views.scroll.ScrollEventType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @ReactModule(name = NativeImageLoaderAndroidSpec.NAME)
 public class ImageLoaderModule extends NativeImageLoaderAndroidSpec
@@ -44,9 +59,52 @@ public class ImageLoaderModule extends NativeImageLoaderAndroidSpec
   private static final String ERROR_PREFETCH_FAILURE = "E_PREFETCH_FAILURE";
   private static final String ERROR_GET_SIZE_FAILURE = "E_GET_SIZE_FAILURE";
 
+  private static @Nullable ImagePrefetchListener sPrefetchListener = null;
+
+  private static final int IMAGE_SIZE_CACHE_SIZE = 512;
+
+  /** Notified once the size of an image was read. */
+  private interface SizeCallback {
+    void onSize(int width, int height);
+
+    void onFailure(@Nullable Throwable failureCause);
+  }
+
+  /** Notified once a prefetch completes, with whether it succeeded. */
+  private interface PrefetchCallback {
+    void onPrefetchFinished(boolean isSuccess, @Nullable Throwable failureCause);
+  }
+
   private @Nullable final Object mCallerContext;
   private final Object mEnqueuedRequestMonitor = new Object();
   private final SparseArray<DataSource<Void>> mEnqueuedRequests = new SparseArray<>();
+  // The sizes of the images read so far, keyed by URI. Requests with headers aren't cached.
+  private final LruCache<String, int[]> mImageSizes = new LruCache<>(IMAGE_SIZE_CACHE_SIZE);
+  private final ImagePrefetchScheduler mPrefetchScheduler = new ImagePrefetchScheduler();
+  // The prefetches of the latest batch, guarded by mEnqueuedRequestMonitor.
+  private final Map<Integer, PrefetchCallback> mBatchPrefetches = new HashMap<>();
+  // Held strongly, ReactScrollViewHelper only keeps weak references to its listeners.
+  private final ReactScrollViewHelper.ScrollListener mScrollListener =
+      new ReactScrollViewHelper.ScrollListener() {
+        @Override
+        public void onScroll(
+            ViewGroup scrollView,
+            ScrollEventType scrollEventType,
+            float xVelocity,
+            float yVelocity) {
+          if (scrollEventType == ScrollEventType.SCROLL) {
+            mPrefetchScheduler.setScrollVelocity(
+                Math.abs(yVelocity) >= Math.abs(xVelocity) ? yVelocity : xVelocity);
+          } else if (scrollEventType == ScrollEventType.END_DRAG
+              || scrollEventType == ScrollEventType.MOMENTUM_END) {
+            // A fling keeps emitting scroll events, which will set the velocity again.
+            mPrefetchScheduler.setScrollVelocity(0);
+          }
+        }
+
+        @Override
+        public void onLayout(ViewGroup scrollView) {}
+      };
   private @Nullable ImagePipeline mImagePipeline = null;
   private @Nullable ReactCallerContextFactory mCallerContextFactory;
 
@@ -70,6 +128,28 @@ public class ImageLoaderModule extends NativeImageLoaderAndroidSpec
     mCallerContext = null;
   }
 
+  /** Sets a listener notified of the prefetches of every {@link ImageLoaderModule}. */
+  public static void setPrefetchListener(@Nullable ImagePrefetchListener listener) {
+    sPrefetchListener = listener;
+  }
+
+  @Override
+  public void initialize() {
+    super.initialize();
+    ReactScrollViewHelper.addScrollListener(mScrollListener);
+  }
+
+  @Override
+  public void invalidate() {
+    ReactScrollViewHelper.removeScrollListener(mScrollListener);
+    super.invalidate();
+  }
+
+  /** Sets how many prefetches may be running at once, 4 by default. */
+  public void setMaxConcurrentPrefetches(int maxConcurrentPrefetches) {
+    mPrefetchScheduler.setMaxConcurrentPrefetches(maxConcurrentPrefetches);
+  }
+
   private @Nullable Object getCallerContext() {
     return mCallerContextFactory != null
         ? mCallerContextFactory.getOrCreateCallerContext("", "")
@@ -96,44 +176,7 @@ public class ImageLoaderModule extends NativeImageLoaderAndroidSpec
 
     ImageSource source = new ImageSource(getReactApplicationContext(), uriString);
     ImageRequest request = ImageRequestBuilder.newBuilderWithSource(source.getUri()).build();
-
-    DataSource<CloseableReference<CloseableImage>> dataSource =
-        getImagePipeline().fetchDecodedImage(request, getCallerContext());
-
-    DataSubscriber<CloseableReference<CloseableImage>> dataSubscriber =
-        new BaseDataSubscriber<CloseableReference<CloseableImage>>() {
-          @Override
-          protected void onNewResultImpl(
-              DataSource<CloseableReference<CloseableImage>> dataSource) {
-            if (!dataSource.isFinished()) {
-              return;
-            }
-            CloseableReference<CloseableImage> ref = dataSource.getResult();
-            if (ref != null) {
-              try {
-                CloseableImage image = ref.get();
-
-                WritableMap sizes = Arguments.createMap();
-                sizes.putInt("width", image.getWidth());
-                sizes.putInt("height", image.getHeight());
-
-                promise.resolve(sizes);
-              } catch (Exception e) {
-                promise.reject(ERROR_GET_SIZE_FAILURE, e);
-              } finally {
-                CloseableReference.closeSafely(ref);
-              }
-            } else {
-              promise.reject(ERROR_GET_SIZE_FAILURE);
-            }
-          }
-
-          @Override
-          protected void onFailureImpl(DataSource<CloseableReference<CloseableImage>> dataSource) {
-            promise.reject(ERROR_GET_SIZE_FAILURE, dataSource.getFailureCause());
-          }
-        };
-    dataSource.subscribe(dataSubscriber, CallerThreadExecutor.getInstance());
+    fetchSize(uriString, request, createSizePromiseCallback(promise));
   }
 
   /**
@@ -157,7 +200,180 @@ public class ImageLoaderModule extends NativeImageLoaderAndroidSpec
         ImageRequestBuilder.newBuilderWithSource(source.getUri());
     ImageRequest request =
         ReactNetworkImageRequest.fromBuilderWithHeaders(imageRequestBuilder, headers);
+    // The size cache is keyed by URI alone, the headers may select a different image.
+    boolean hasHeaders = headers != null && headers.keySetIterator().hasNextKey();
+    fetchSize(hasHeaders ? null : uriString, request, createSizePromiseCallback(promise));
+  }
 
+  /**
+   * Fetch the width and height of several images at once, typically to size the placeholders of a
+   * list before its images are loaded.
+   *
+   * @param uris the URIs of the images
+   * @param promise the promise that is fulfilled once all the sizes were fetched, with the width
+   *     and height of each image keyed by URI. Images that failed to load are omitted.
+   */
+  @Override
+  public void getSizes(final ReadableArray uris, final Promise promise) {
+    final WritableMap sizes = Arguments.createMap();
+    final int[] remaining = {uris.size()};
+    if (remaining[0] == 0) {
+      promise.resolve(sizes);
+      return;
+    }
+    for (int i = 0; i < uris.size(); i++) {
+      final String uriString = uris.getString(i);
+      SizeCallback callback =
+          new SizeCallback() {
+            @Override
+            public void onSize(int width, int height) {
+              WritableMap size = Arguments.createMap();
+              size.putInt("width", width);
+              size.putInt("height", height);
+              synchronized (sizes) {
+                sizes.putMap(uriString, size);
+                onDone();
+              }
+            }
+
+            @Override
+            public void onFailure(@Nullable Throwable failureCause) {
+              synchronized (sizes) {
+                onDone();
+              }
+            }
+
+            private void onDone() {
+              if (--remaining[0] == 0) {
+                promise.resolve(sizes);
+              }
+            }
+          };
+      if (uriString == null || uriString.isEmpty()) {
+        callback.onFailure(null);
+        continue;
+      }
+      ImageSource source = new ImageSource(getReactApplicationContext(), uriString);
+      fetchSize(
+          uriString, ImageRequestBuilder.newBuilderWithSource(source.getUri()).build(), callback);
+    }
+  }
+
+  private static SizeCallback createSizePromiseCallback(final Promise promise) {
+    return new SizeCallback() {
+      @Override
+      public void onSize(int width, int height) {
+        WritableMap sizes = Arguments.createMap();
+        sizes.putInt("width", width);
+        sizes.putInt("height", height);
+
+        promise.resolve(sizes);
+      }
+
+      @Override
+      public void onFailure(@Nullable Throwable failureCause) {
+        promise.reject(ERROR_GET_SIZE_FAILURE, failureCause);
+      }
+    };
+  }
+
+  /**
+   * Fetches the size of an image, from the size cache if {@code cacheKey} isn't null. Network,
+   * file and content images are read from the header of their encoded bytes without being decoded,
+   * the image pipeline can't fetch other images (data, resources, assets) encoded.
+   */
+  private void fetchSize(
+      @Nullable final String cacheKey, ImageRequest request, final SizeCallback callback) {
+    if (cacheKey != null) {
+      int[] cachedSize = mImageSizes.get(cacheKey);
+      if (cachedSize != null) {
+        callback.onSize(cachedSize[0], cachedSize[1]);
+        return;
+      }
+    }
+    SizeCallback cachingCallback =
+        new SizeCallback() {
+          @Override
+          public void onSize(int width, int height) {
+            if (cacheKey != null) {
+              mImageSizes.put(cacheKey, new int[] {width, height});
+            }
+            callback.onSize(width, height);
+          }
+
+          @Override
+          public void onFailure(@Nullable Throwable failureCause) {
+            callback.onFailure(failureCause);
+          }
+        };
+    Uri uri = request.getSourceUri();
+    if (UriUtil.isNetworkUri(uri)
+        || UriUtil.isLocalFileUri(uri)
+        || UriUtil.isLocalContentUri(uri)) {
+      fetchEncodedSize(request, cachingCallback);
+    } else {
+      fetchDecodedSize(request, cachingCallback);
+    }
+  }
+
+  /**
+   * Reads the size of an image from the header of its encoded bytes, fetched from the encoded
+   * memory cache, the disk cache or the network, without decoding it.
+   */
+  private void fetchEncodedSize(ImageRequest request, final SizeCallback callback) {
+    DataSource<CloseableReference<PooledByteBuffer>> dataSource =
+        getImagePipeline().fetchEncodedImage(request, getCallerContext());
+
+    DataSubscriber<CloseableReference<PooledByteBuffer>> dataSubscriber =
+        new BaseDataSubscriber<CloseableReference<PooledByteBuffer>>() {
+          @Override
+          protected void onNewResultImpl(
+              DataSource<CloseableReference<PooledByteBuffer>> dataSource) {
+            if (!dataSource.isFinished()) {
+              return;
+            }
+            CloseableReference<PooledByteBuffer> ref = dataSource.getResult();
+            if (ref == null) {
+              callback.onFailure(null);
+              return;
+            }
+            EncodedImage encodedImage = null;
+            try {
+              encodedImage = new EncodedImage(ref);
+              encodedImage.parseMetaData();
+              int width = encodedImage.getWidth();
+              int height = encodedImage.getHeight();
+              if (width <= 0 || height <= 0) {
+                callback.onFailure(null);
+                return;
+              }
+              int rotationAngle = encodedImage.getRotationAngle();
+              if (rotationAngle == 90 || rotationAngle == 270) {
+                // Images are auto rotated when decoded, report the size they will be displayed at.
+                int rotatedWidth = height;
+                height = width;
+                width = rotatedWidth;
+              }
+              callback.onSize(width, height);
+            } catch (Exception e) {
+              callback.onFailure(e);
+            } finally {
+              EncodedImage.closeSafely(encodedImage);
+              CloseableReference.closeSafely(ref);
+            }
+          }
+
+          @Override
+          protected void onFailureImpl(
+              DataSource<CloseableReference<PooledByteBuffer>> dataSource) {
+            callback.onFailure(dataSource.getFailureCause());
+          }
+        };
+    dataSource.subscribe(dataSubscriber, CallerThreadExecutor.getInstance());
+  }
+
+  /** Reads the size of an image by decoding it. */
+  private void fetchDecodedSize(ImageRequest request, final SizeCallback callback) {
     DataSource<CloseableReference<CloseableImage>> dataSource =
         getImagePipeline().fetchDecodedImage(request, getCallerContext());
 
@@ -170,28 +386,23 @@ public class ImageLoaderModule extends NativeImageLoaderAndroidSpec
               return;
             }
             CloseableReference<CloseableImage> ref = dataSource.getResult();
-            if (ref != null) {
-              try {
-                CloseableImage image = ref.get();
-
-                WritableMap sizes = Arguments.createMap();
-                sizes.putInt("width", image.getWidth());
-                sizes.putInt("height", image.getHeight());
-
-                promise.resolve(sizes);
-              } catch (Exception e) {
-                promise.reject(ERROR_GET_SIZE_FAILURE, e);
-              } finally {
-                CloseableReference.closeSafely(ref);
-              }
-            } else {
-              promise.reject(ERROR_GET_SIZE_FAILURE);
+            if (ref == null) {
+              callback.onFailure(null);
+              return;
+            }
+            try {
+              CloseableImage image = ref.get();
+              callback.onSize(image.getWidth(), image.getHeight());
+            } catch (Exception e) {
+              callback.onFailure(e);
+            } finally {
+              CloseableReference.closeSafely(ref);
             }
           }
 
           @Override
           protected void onFailureImpl(DataSource<CloseableReference<CloseableImage>> dataSource) {
-            promise.reject(ERROR_GET_SIZE_FAILURE, dataSource.getFailureCause());
+            callback.onFailure(dataSource.getFailureCause());
           }
         };
     dataSource.subscribe(dataSubscriber, CallerThreadExecutor.getInstance());
@@ -215,11 +426,206 @@ public class ImageLoaderModule extends NativeImageLoaderAndroidSpec
       return;
     }
 
+    enqueuePrefetch(
+        requestId,
+        uriString,
+        RequestPriority.NORMAL,
+        0,
+        new PrefetchCallback() {
+          @Override
+          public void onPrefetchFinished(boolean isSuccess, @Nullable Throwable failureCause) {
+            if (isSuccess) {
+              promise.resolve(true);
+            } else {
+              promise.reject(ERROR_PREFETCH_FAILURE, failureCause);
+            }
+          }
+        });
+  }
+
+  /**
+   * Prefetches a batch of images, typically the ones around the viewport of a list. The prefetches
+   * of the previous batch that aren't part of this one are cancelled, as their images scrolled
+   * away.
+   *
+   * @param requests the prefetches, each with a {@code uri}, a {@code requestId}, an optional
+   *     {@code priority} ("high", "normal" or "low") and an optional {@code offset}, the distance
+   *     in pixels between the image and the viewport along the scroll axis
+   * @param promise the promise that is fulfilled once all the prefetches of the batch completed,
+   *     with whether each of them succeeded keyed by request ID
+   */
+  @Override
+  public void prefetchImages(final ReadableArray requests, final Promise promise) {
+    final int batchSize = requests.size();
+    Set<Integer> requestIds = new HashSet<>();
+    for (int i = 0; i < batchSize; i++) {
+      requestIds.add(requests.getMap(i).getInt("requestId"));
+    }
+    cancelStalePrefetches(requestIds);
+
+    final WritableMap results = Arguments.createMap();
+    if (batchSize == 0) {
+      promise.resolve(results);
+      return;
+    }
+    final int[] remaining = {batchSize};
+    for (int i = 0; i < batchSize; i++) {
+      ReadableMap request = requests.getMap(i);
+      final int requestId = request.getInt("requestId");
+      String uriString = request.hasKey("uri") ? request.getString("uri") : null;
+      int priority =
+          RequestPriority.parse(
+              request.hasKey("priority") ? request.getString("priority") : null);
+      float offset = request.hasKey("offset") ? (float) request.getDouble("offset") : 0;
+      PrefetchCallback callback =
+          new PrefetchCallback() {
+            @Override
+            public void onPrefetchFinished(boolean isSuccess, @Nullable Throwable failureCause) {
+              synchronized (results) {
+                results.putBoolean(String.valueOf(requestId), isSuccess);
+                if (--remaining[0] == 0) {
+                  promise.resolve(results);
+                }
+              }
+            }
+          };
+      if (uriString == null || uriString.isEmpty()) {
+        callback.onPrefetchFinished(false, null);
+        continue;
+      }
+      synchronized (mEnqueuedRequestMonitor) {
+        final PrefetchCallback previousCallback = mBatchPrefetches.get(requestId);
+        if (previousCallback != null) {
+          // Still in flight from the previous batch, both batches get its result.
+          final PrefetchCallback nextCallback = callback;
+          callback =
+              new PrefetchCallback() {
+                @Override
+                public void onPrefetchFinished(
+                    boolean isSuccess, @Nullable Throwable failureCause) {
+                  previousCallback.onPrefetchFinished(isSuccess, failureCause);
+                  nextCallback.onPrefetchFinished(isSuccess, failureCause);
+                }
+              };
+        }
+        mBatchPrefetches.put(requestId, callback);
+        if (previousCallback != null && !mPrefetchScheduler.cancel(requestId)) {
+          // Already running.
+          continue;
+        }
+      }
+      // Queued again if it was still pending, as its priority or offset may have changed.
+      enqueuePrefetch(requestId, uriString, priority, offset, createBatchCallback(requestId));
+    }
+  }
+
+  /** Forwards the result of a prefetch to the batches it is part of. */
+  private PrefetchCallback createBatchCallback(final int requestId) {
+    return new PrefetchCallback() {
+      @Override
+      public void onPrefetchFinished(boolean isSuccess, @Nullable Throwable failureCause) {
+        PrefetchCallback callback;
+        synchronized (mEnqueuedRequestMonitor) {
+          callback = mBatchPrefetches.remove(requestId);
+        }
+        if (callback != null) {
+          callback.onPrefetchFinished(isSuccess, failureCause);
+        }
+      }
+    };
+  }
+
+  /** Cancels the prefetches of the previous batch that aren't in {@code requestIds}. */
+  private void cancelStalePrefetches(Set<Integer> requestIds) {
+    List<Integer> staleRequestIds = new ArrayList<>();
+    synchronized (mEnqueuedRequestMonitor) {
+      for (Integer requestId : mBatchPrefetches.keySet()) {
+        if (!requestIds.contains(requestId)) {
+          staleRequestIds.add(requestId);
+        }
+      }
+    }
+    for (Integer requestId : staleRequestIds) {
+      cancelPrefetch(requestId);
+    }
+  }
+
+  /** Cancels a pending or running prefetch, failing it if it is part of a batch. */
+  private void cancelPrefetch(int requestId) {
+    ImagePrefetchListener listener = sPrefetchListener;
+    boolean wasStarted = false;
+    if (!mPrefetchScheduler.cancel(requestId)) {
+      DataSource<Void> request = removeRequest(requestId);
+      if (request == null) {
+        // Already completed, or completing.
+        return;
+      }
+      request.close();
+      mPrefetchScheduler.finish(requestId);
+      wasStarted = true;
+    }
+    if (listener != null) {
+      listener.onPrefetchCancelled(requestId, wasStarted);
+    }
+    PrefetchCallback batchCallback;
+    synchronized (mEnqueuedRequestMonitor) {
+      batchCallback = mBatchPrefetches.remove(requestId);
+    }
+    if (batchCallback != null) {
+      batchCallback.onPrefetchFinished(false, null);
+    }
+  }
+
+  private void enqueuePrefetch(
+      final int requestId,
+      final String uriString,
+      final int priority,
+      float offset,
+      final PrefetchCallback callback) {
+    final long enqueueTimeMs = System.currentTimeMillis();
+    mPrefetchScheduler.enqueue(
+        requestId,
+        priority,
+        offset,
+        new Runnable() {
+          @Override
+          public void run() {
+            startPrefetch(requestId, uriString, priority, enqueueTimeMs, callback);
+          }
+        });
+  }
+
+  private void startPrefetch(
+      final int requestId,
+      String uriString,
+      int priority,
+      long enqueueTimeMs,
+      final PrefetchCallback callback) {
+    final ImagePrefetchListener listener = sPrefetchListener;
+    final long startTimeMs = System.currentTimeMillis();
+    if (listener != null) {
+      listener.onPrefetchStarted(requestId, startTimeMs - enqueueTimeMs);
+    }
+
     Uri uri = Uri.parse(uriString);
-    ImageRequest request = ImageRequestBuilder.newBuilderWithSource(uri).build();
+    ImagePipeline imagePipeline = getImagePipeline();
+    if (imagePipeline.isInBitmapMemoryCache(uri)) {
+      // Decoded images are also in the disk cache, and the memory check is cheap.
+      mPrefetchScheduler.finish(requestId);
+      if (listener != null) {
+        listener.onPrefetchFinished(requestId, true, true, 0);
+      }
+      callback.onPrefetchFinished(true, null);
+      return;
+    }
+
+    ImageRequest request =
+        ImageRequestBuilder.newBuilderWithSource(uri)
+            .setRequestPriority(toFrescoPriority(priority))
+            .build();
 
     DataSource<Void> prefetchSource =
-        getImagePipeline().prefetchToDiskCache(request, getCallerContext());
+        imagePipeline.prefetchToDiskCache(request, getCallerContext());
     DataSubscriber<Void> prefetchSubscriber =
         new BaseDataSubscriber<Void>() {
           @Override
@@ -229,9 +635,14 @@ public class ImageLoaderModule extends NativeImageLoaderAndroidSpec
             }
             try {
               removeRequest(requestId);
-              promise.resolve(true);
+              mPrefetchScheduler.finish(requestId);
+              if (listener != null) {
+                listener.onPrefetchFinished(
+                    requestId, false, true, System.currentTimeMillis() - startTimeMs);
+              }
+              callback.onPrefetchFinished(true, null);
             } catch (Exception e) {
-              promise.reject(ERROR_PREFETCH_FAILURE, e);
+              callback.onPrefetchFinished(false, e);
             } finally {
               dataSource.close();
             }
@@ -241,7 +652,12 @@ public class ImageLoaderModule extends NativeImageLoaderAndroidSpec
           protected void onFailureImpl(DataSource<Void> dataSource) {
             try {
               removeRequest(requestId);
-              promise.reject(ERROR_PREFETCH_FAILURE, dataSource.getFailureCause());
+              mPrefetchScheduler.finish(requestId);
+              if (listener != null) {
+                listener.onPrefetchFinished(
+                    requestId, false, false, System.currentTimeMillis() - startTimeMs);
+              }
+              callback.onPrefetchFinished(false, dataSource.getFailureCause());
             } finally {
               dataSource.close();
             }
@@ -251,12 +667,20 @@ public class ImageLoaderModule extends NativeImageLoaderAndroidSpec
     prefetchSource.subscribe(prefetchSubscriber, CallerThreadExecutor.getInstance());
   }
 
+  private static Priority toFrescoPriority(int priority) {
+    switch (priority) {
+      case RequestPriority.HIGH:
+        return Priority.HIGH;
+      case RequestPriority.LOW:
+        return Priority.LOW;
+      default:
+        return Priority.MEDIUM;
+    }
+  }
+
   @Override
   public void abortRequest(double requestId) {
-    DataSource<Void> request = removeRequest((int) requestId);
-    if (request != null) {
-      request.close();
-    }
+    cancelPrefetch((int) requestId);
   }
 
   @ReactMethod
@@ -314,6 +738,8 @@ public class ImageLoaderModule extends NativeImageLoaderAndroidSpec
         }
       }
       mEnqueuedRequests.clear();
+      mBatchPrefetches.clear();
     }
+    mPrefetchScheduler.clear();
   }
 }
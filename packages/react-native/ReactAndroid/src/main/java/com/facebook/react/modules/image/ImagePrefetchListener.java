@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.image;
+
+/**
+ * Listener notified of the prefetches scheduled by {@link ImageLoaderModule}, for instance to
+ * compute how many prefetches were actually needed and how long they wait to be started.
+ */
+public interface ImagePrefetchListener {
+
+  /**
+   * A prefetch was handed over to the image pipeline, after waiting {@code queueTimeMs} in the
+   * queue.
+   */
+  void onPrefetchStarted(int requestId, long queueTimeMs);
+
+  /**
+   * A prefetch completed. {@code isCacheHit} is true when the image was already in the bitmap
+   * memory cache, in which case nothing was fetched.
+   */
+  void onPrefetchFinished(int requestId, boolean isCacheHit, boolean isSuccess, long durationMs);
+
+  /**
+   * A prefetch was cancelled, either by JS or because it was no longer part of the latest batch.
+   * {@code wasStarted} is false if it was cancelled before leaving the queue.
+   */
+  void onPrefetchCancelled(int requestId, boolean wasStarted);
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.image;
+
+import androidx.annotation.Nullable;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides when the prefetches of {@link ImageLoaderModule} are handed over to the image pipeline.
+ * At most {@link #DEFAULT_MAX_CONCURRENT_PREFETCHES} prefetches run at once, so that prefetches
+ * can't saturate the network while the images on screen are loading. Pending prefetches are
+ * started by priority and then by their distance to the viewport, favouring the ones ahead in the
+ * current scroll direction.
+ */
+/* package */ class ImagePrefetchScheduler {
+
+  public static final int DEFAULT_MAX_CONCURRENT_PREFETCHES = 4;
+
+  private static final class PendingPrefetch {
+    final int requestId;
+    final int priority;
+    final float offset;
+    final long sequence;
+    final Runnable start;
+
+    PendingPrefetch(int requestId, int priority, float offset, long sequence, Runnable start) {
+      this.requestId = requestId;
+      this.priority = priority;
+      this.offset = offset;
+      this.sequence = sequence;
+      this.start = start;
+    }
+  }
+
+  private final Map<Integer, PendingPrefetch> mPendingPrefetches = new LinkedHashMap<>();
+  private final Set<Integer> mRunningPrefetches = new HashSet<>();
+  private int mMaxConcurrentPrefetches = DEFAULT_MAX_CONCURRENT_PREFETCHES;
+  private float mScrollVelocity = 0;
+  private long mNextSequence = 0;
+  // Set while a thread starts prefetches, see promoteAndExecute.
+  private boolean mIsPromoting = false;
+
+  public void setMaxConcurrentPrefetches(int maxConcurrentPrefetches) {
+    synchronized (this) {
+      mMaxConcurrentPrefetches = Math.max(1, maxConcurrentPrefetches);
+    }
+    promoteAndExecute();
+  }
+
+  /**
+   * Sets the velocity of the scroll view being scrolled, in pixels per millisecond along its
+   * scroll axis. Positive values scroll towards positive offsets.
+   */
+  public synchronized void setScrollVelocity(float velocity) {
+    mScrollVelocity = velocity;
+  }
+
+  /**
+   * Queues a prefetch, {@code start} is run (possibly synchronously) once it can be handed over to
+   * the image pipeline. {@link #finish(int)} must be called once it completes.
+   *
+   * @param offset the distance between the image and the viewport along the scroll axis, negative
+   *     if the image is before the viewport
+   */
+  public void enqueue(int requestId, int priority, float offset, Runnable start) {
+    synchronized (this) {
+      mPendingPrefetches.put(
+          requestId, new PendingPrefetch(requestId, priority, offset, mNextSequence++, start));
+    }
+    promoteAndExecute();
+  }
+
+  /**
+   * Releases the slot of a started prefetch, starting the next pending prefetches if any. May be
+   * called from {@code start}, e.g. on a cache hit.
+   */
+  public void finish(int requestId) {
+    synchronized (this) {
+      if (!mRunningPrefetches.remove(requestId)) {
+        return;
+      }
+    }
+    promoteAndExecute();
+  }
+
+  /**
+   * Removes a prefetch that hasn't been started yet.
+   *
+   * @return true if the prefetch was still pending
+   */
+  public synchronized boolean cancel(int requestId) {
+    return mPendingPrefetches.remove(requestId) != null;
+  }
+
+  public synchronized void clear() {
+    mPendingPrefetches.clear();
+    mRunningPrefetches.clear();
+  }
+
+  /**
+   * Starts pending prefetches while slots are free. A single thread does it at a time: calls made
+   * meanwhile, including the ones from a prefetch that completes synchronously within {@code
+   * start}, return right away and the running loop starts the next prefetches instead. A long run
+   * of cached images is then started iteratively rather than recursively.
+   */
+  private void promoteAndExecute() {
+    synchronized (this) {
+      if (mIsPromoting) {
+        return;
+      }
+      mIsPromoting = true;
+    }
+    PendingPrefetch prefetch = null;
+    try {
+      while ((prefetch = promoteNext()) != null) {
+        // Started outside of the lock, as the pipeline may deliver the result synchronously.
+        prefetch.start.run();
+      }
+    } finally {
+      if (prefetch != null) {
+        // A prefetch failed to start, promoteNext didn't get to release the loop.
+        synchronized (this) {
+          mIsPromoting = false;
+        }
+      }
+    }
+  }
+
+  /** Returns the next prefetch to start, or null, ending the loop of promoteAndExecute. */
+  private synchronized @Nullable PendingPrefetch promoteNext() {
+    if (mRunningPrefetches.size() >= mMaxConcurrentPrefetches) {
+      mIsPromoting = false;
+      return null;
+    }
+    PendingPrefetch next = null;
+    for (PendingPrefetch prefetch : mPendingPrefetches.values()) {
+      if (next == null || comparePrefetches(prefetch, next) < 0) {
+        next = prefetch;
+      }
+    }
+    if (next != null) {
+      mPendingPrefetches.remove(next.requestId);
+      mRunningPrefetches.add(next.requestId);
+    } else {
+      mIsPromoting = false;
+    }
+    return next;
+  }
+
+  private int comparePrefetches(PendingPrefetch a, PendingPrefetch b) {
+    if (a.priority != b.priority) {
+      return a.priority < b.priority ? -1 : 1;
+    }
+    if (mScrollVelocity != 0) {
+      // Images ahead in the scroll direction come into view first, images behind may never do.
+      boolean isAheadA = isAhead(a.offset);
+      boolean isAheadB = isAhead(b.offset);
+      if (isAheadA != isAheadB) {
+        return isAheadA ? -1 : 1;
+      }
+    }
+    int byDistance = Float.compare(Math.abs(a.offset), Math.abs(b.offset));
+    if (byDistance != 0) {
+      return byDistance;
+    }
+    return Long.compare(a.sequence, b.sequence);
+  }
+
+  private boolean isAhead(float offset) {
+    return offset == 0 || (offset > 0) == (mScrollVelocity > 0);
+  }
+}
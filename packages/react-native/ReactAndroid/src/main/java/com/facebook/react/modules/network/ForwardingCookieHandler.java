@@ -13,7 +13,9 @@ import android.os.Build;
 import android.os.Handler;
 import android.os.Looper;
 import android.os.Message;
+import android.os.SystemClock;
 import android.text.TextUtils;
+import android.util.LruCache;
 import android.webkit.CookieManager;
 import android.webkit.ValueCallback;
 import androidx.annotation.Nullable;
@@ -30,6 +32,11 @@ import java.util.Map;
 /**
  * Cookie handler that forwards all cookies to the WebView CookieManager.
  *
+ * <p>The cookies of recently requested URLs can be cached in memory, as looking them up in the
+ * CookieManager is slow on some devices, see {@link #setCookieCacheMaxAge}. The cache is shared by
+ * all the handlers, like the CookieManager, and is invalidated by every change made through a
+ * handler. Changes made by other means, like a WebView, are seen once the cached entries expire.
+ *
  * <p>This class relies on CookieManager to persist cookies to disk so cookies may be lost if the
  * application is terminated before it syncs.
  */
@@ -38,6 +45,45 @@ public class ForwardingCookieHandler extends CookieHandler {
   private static final String VERSION_ONE_HEADER = "Set-cookie2";
   private static final String COOKIE_HEADER = "Cookie";
 
+  private static final int COOKIE_CACHE_SIZE = 64;
+  private static final long DEFAULT_COOKIE_CACHE_MAX_AGE_MS = 0;
+
+  private static final class CachedCookies {
+    final @Nullable String cookies;
+    final long timeMs;
+
+    CachedCookies(@Nullable String cookies, long timeMs) {
+      this.cookies = cookies;
+      this.timeMs = timeMs;
+    }
+  }
+
+  private static final LruCache<String, CachedCookies> sCookieCache =
+      new LruCache<>(COOKIE_CACHE_SIZE);
+  private static volatile long sCookieCacheMaxAgeMs = DEFAULT_COOKIE_CACHE_MAX_AGE_MS;
+  // Incremented on every invalidation, so that a lookup racing with a change is not cached.
+  private static volatile int sCookieCacheGeneration = 0;
+
+  /**
+   * Sets for how long the cookies of a URL are served from memory, 0 (disabled) by default. Cookies
+   * set by other means than this class, like a WebView login, are only sent by the next requests
+   * once the cached entries expire, or after {@link #invalidateCookieCache()}.
+   */
+  public static void setCookieCacheMaxAge(long maxAgeMs) {
+    sCookieCacheMaxAgeMs = maxAgeMs;
+    if (maxAgeMs <= 0) {
+      invalidateCookieCache();
+    }
+  }
+
+  /** Drops the cached cookies, to be called after cookies were changed outside of this class. */
+  public static void invalidateCookieCache() {
+    synchronized (sCookieCache) {
+      sCookieCacheGeneration++;
+      sCookieCache.evictAll();
+    }
+  }
+
   private final CookieSaver mCookieSaver;
   private final ReactContext mContext;
   private @Nullable CookieManager mCookieManager;
@@ -50,10 +96,27 @@ public class ForwardingCookieHandler extends CookieHandler {
   @Override
   public Map<String, List<String>> get(URI uri, Map<String, List<String>> headers)
       throws IOException {
-    CookieManager cookieManager = getCookieManager();
-    if (cookieManager == null) return Collections.emptyMap();
+    String url = uri.toString();
+    String cookies;
+    long maxAgeMs = sCookieCacheMaxAgeMs;
+    String cacheKey = maxAgeMs > 0 ? getCookieCacheKey(uri) : null;
+    CachedCookies cached = cacheKey != null ? sCookieCache.get(cacheKey) : null;
+    if (cached != null && SystemClock.uptimeMillis() - cached.timeMs < maxAgeMs) {
+      cookies = cached.cookies;
+    } else {
+      CookieManager cookieManager = getCookieManager();
+      if (cookieManager == null) return Collections.emptyMap();
 
-    String cookies = cookieManager.getCookie(uri.toString());
+      int generation = sCookieCacheGeneration;
+      cookies = cookieManager.getCookie(url);
+      if (cacheKey != null) {
+        synchronized (sCookieCache) {
+          if (generation == sCookieCacheGeneration) {
+            sCookieCache.put(cacheKey, new CachedCookies(cookies, SystemClock.uptimeMillis()));
+          }
+        }
+      }
+    }
     if (TextUtils.isEmpty(cookies)) {
       return Collections.emptyMap();
     }
@@ -80,10 +143,13 @@ public class ForwardingCookieHandler extends CookieHandler {
   private void clearCookiesAsync(final Callback callback) {
     CookieManager cookieManager = getCookieManager();
     if (cookieManager != null) {
+      invalidateCookieCache();
       cookieManager.removeAllCookies(
           new ValueCallback<Boolean>() {
             @Override
             public void onReceiveValue(Boolean value) {
+              // Lookups made while the cookies were being removed may have cached them again.
+              invalidateCookieCache();
               mCookieSaver.onCookiesModified();
               callback.invoke(value);
             }
@@ -91,7 +157,9 @@ public class ForwardingCookieHandler extends CookieHandler {
     }
   }
 
-  public void destroy() {}
+  public void destroy() {
+    mCookieSaver.persistPendingCookies();
+  }
 
   public void addCookies(final String url, final List<String> cookies) {
     final CookieManager cookieManager = getCookieManager();
@@ -100,7 +168,8 @@ public class ForwardingCookieHandler extends CookieHandler {
     for (String cookie : cookies) {
       addCookieAsync(url, cookie);
     }
-    cookieManager.flush();
+    // A cookie may apply to other URLs than the one that set it, through its domain and path.
+    invalidateCookieCache();
     mCookieSaver.onCookiesModified();
   }
 
@@ -112,6 +181,14 @@ public class ForwardingCookieHandler extends CookieHandler {
     }
   }
 
+  /**
+   * The cookies sent to a URL only depend on its scheme, host and path, so that URLs differing by
+   * their query share the same entry.
+   */
+  private static String getCookieCacheKey(URI uri) {
+    return uri.getScheme() + "://" + uri.getHost() + uri.getRawPath();
+  }
+
   private static boolean isCookieHeader(String name) {
     return name.equalsIgnoreCase(VERSION_ZERO_HEADER) || name.equalsIgnoreCase(VERSION_ONE_HEADER);
   }
@@ -159,13 +236,13 @@ public class ForwardingCookieHandler extends CookieHandler {
   private static void possiblyWorkaroundSyncManager(Context context) {}
 
   /**
-   * Responsible for flushing cookies to disk. Flushes to disk with a maximum delay of 30 seconds.
-   * This class is only active if we are on API < 21.
+   * Responsible for flushing cookies to disk. Flushes to disk on a background thread with a maximum
+   * delay of 1 second, so that the cookies set by a burst of responses are flushed once.
    */
   private class CookieSaver {
     private static final int MSG_PERSIST_COOKIES = 1;
 
-    private static final int TIMEOUT = 30 * 1000; // 30 seconds
+    private static final int TIMEOUT = 1000; // 1 second
 
     private final Handler mHandler;
 
@@ -186,7 +263,17 @@ public class ForwardingCookieHandler extends CookieHandler {
               });
     }
 
-    public void onCookiesModified() {}
+    public void onCookiesModified() {
+      if (!mHandler.hasMessages(MSG_PERSIST_COOKIES)) {
+        mHandler.sendEmptyMessageDelayed(MSG_PERSIST_COOKIES, TIMEOUT);
+      }
+    }
+
+    public void persistPendingCookies() {
+      if (mHandler.hasMessages(MSG_PERSIST_COOKIES)) {
+        persistCookies();
+      }
+    }
 
     public void persistCookies() {
       mHandler.removeMessages(MSG_PERSIST_COOKIES);
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.ReactApplicationContext;
+import java.io.InterruptedIOException;
+
+/**
+ * Tracks whether the events emitted to JS for a request have been processed yet, by posting a
+ * marker on the JS queue thread behind each emitted event. This lets a download coalesce data
+ * while the JS thread is busy, and stop reading from the network (applying TCP backpressure) once
+ * too much data is pending.
+ */
+public class JSQueueBackpressure {
+
+  private final @Nullable ReactApplicationContext mReactContext;
+  private int mEmittedEventCount = 0;
+  private int mProcessedEventCount = 0;
+
+  public JSQueueBackpressure(@Nullable ReactApplicationContext reactContext) {
+    mReactContext = reactContext;
+  }
+
+  /** Returns whether all the events emitted so far have been processed by the JS thread. */
+  public synchronized boolean isJSQueueDrained() {
+    return mProcessedEventCount == mEmittedEventCount;
+  }
+
+  /** Must be called right after emitting an event to JS. */
+  public void onEventEmitted() {
+    if (mReactContext == null) {
+      return;
+    }
+    final int eventCount;
+    synchronized (this) {
+      eventCount = ++mEmittedEventCount;
+    }
+    Runnable onEventProcessed =
+        new Runnable() {
+          @Override
+          public void run() {
+            synchronized (JSQueueBackpressure.this) {
+              mProcessedEventCount = Math.max(mProcessedEventCount, eventCount);
+              JSQueueBackpressure.this.notifyAll();
+            }
+          }
+        };
+    if (!mReactContext.runOnJSQueueThread(onEventProcessed)) {
+      onEventProcessed.run();
+    }
+  }
+
+  /** Blocks until the emitted events have been processed by the JS thread, or the timeout. */
+  public synchronized void awaitJSQueueDrained(long timeoutMs) throws InterruptedIOException {
+    long deadline = System.currentTimeMillis() + timeoutMs;
+    long remaining = timeoutMs;
+    while (mProcessedEventCount != mEmittedEventCount && remaining > 0) {
+      try {
+        wait(remaining);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException();
+      }
+      remaining = deadline - System.currentTimeMillis();
+    }
+  }
+}
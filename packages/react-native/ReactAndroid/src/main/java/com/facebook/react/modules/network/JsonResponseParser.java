@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import android.util.JsonReader;
+import android.util.JsonToken;
+import android.util.MalformedJsonException;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PushbackReader;
+import okhttp3.ResponseBody;
+
+/**
+ * Parses a JSON {@link ResponseBody} with a streaming {@link JsonReader}, straight into native
+ * writable collections. This happens on the networking thread, so that JS receives an already
+ * parsed object instead of a string it has to parse on the JS thread.
+ */
+/* package */ class JsonResponseParser {
+
+  // Deeper bodies fail the request rather than overflowing the stack of the networking thread.
+  private static final int MAX_DEPTH = 512;
+
+  private JsonResponseParser() {}
+
+  /**
+   * Pushes the top-level object or array of the JSON {@code body} into {@code args}, or null if it
+   * isn't valid JSON. Any other body is pushed as a string for JS to parse, since {@link
+   * JsonReader} only accepts objects and arrays at the top level.
+   *
+   * @throws IOException if the body can't be read, or is nested deeper than {@link #MAX_DEPTH}
+   */
+  public static void pushResponse(ResponseBody body, WritableArray args) throws IOException {
+    PushbackReader bodyReader = new PushbackReader(body.charStream());
+    try {
+      int firstChar = bodyReader.read();
+      while (firstChar == ' ' || firstChar == '\t' || firstChar == '\n' || firstChar == '\r') {
+        firstChar = bodyReader.read();
+      }
+      if (firstChar != '{' && firstChar != '[') {
+        StringBuilder text = new StringBuilder();
+        if (firstChar != -1) {
+          text.append((char) firstChar);
+        }
+        char[] buffer = new char[8 * 1024];
+        int read;
+        while ((read = bodyReader.read(buffer)) != -1) {
+          text.append(buffer, 0, read);
+        }
+        args.pushString(text.toString());
+        return;
+      }
+      bodyReader.unread(firstChar);
+      pushValue(new JsonReader(bodyReader), firstChar == '{', args);
+    } finally {
+      bodyReader.close();
+    }
+  }
+
+  private static void pushValue(JsonReader reader, boolean isObject, WritableArray args)
+      throws IOException {
+    WritableMap map = null;
+    WritableArray array = null;
+    try {
+      if (isObject) {
+        map = readMap(reader, 1);
+      } else {
+        array = readArray(reader, 1);
+      }
+      // Like JSON.parse, nothing but whitespace may follow the top-level value.
+      if (reader.peek() != JsonToken.END_DOCUMENT) {
+        map = null;
+        array = null;
+      }
+    } catch (MalformedJsonException
+        | EOFException
+        | IllegalStateException
+        | NumberFormatException e) {
+      // Same as JSON.parse failing in JS: the response is null, but the request doesn't fail.
+      map = null;
+      array = null;
+    }
+    if (map != null) {
+      args.pushMap(map);
+    } else if (array != null) {
+      args.pushArray(array);
+    } else {
+      args.pushNull();
+    }
+  }
+
+  private static WritableMap readMap(JsonReader reader, int depth) throws IOException {
+    checkDepth(depth);
+    WritableMap map = Arguments.createMap();
+    reader.beginObject();
+    while (reader.hasNext()) {
+      String name = reader.nextName();
+      switch (reader.peek()) {
+        case BEGIN_OBJECT:
+          map.putMap(name, readMap(reader, depth + 1));
+          break;
+        case BEGIN_ARRAY:
+          map.putArray(name, readArray(reader, depth + 1));
+          break;
+        case STRING:
+          map.putString(name, reader.nextString());
+          break;
+        case NUMBER:
+          map.putDouble(name, reader.nextDouble());
+          break;
+        case BOOLEAN:
+          map.putBoolean(name, reader.nextBoolean());
+          break;
+        default:
+          reader.nextNull();
+          map.putNull(name);
+      }
+    }
+    reader.endObject();
+    return map;
+  }
+
+  private static WritableArray readArray(JsonReader reader, int depth) throws IOException {
+    checkDepth(depth);
+    WritableArray array = Arguments.createArray();
+    reader.beginArray();
+    while (reader.hasNext()) {
+      switch (reader.peek()) {
+        case BEGIN_OBJECT:
+          array.pushMap(readMap(reader, depth + 1));
+          break;
+        case BEGIN_ARRAY:
+          array.pushArray(readArray(reader, depth + 1));
+          break;
+        case STRING:
+          array.pushString(reader.nextString());
+          break;
+        case NUMBER:
+          array.pushDouble(reader.nextDouble());
+          break;
+        case BOOLEAN:
+          array.pushBoolean(reader.nextBoolean());
+          break;
+        default:
+          reader.nextNull();
+          array.pushNull();
+      }
+    }
+    reader.endArray();
+    return array;
+  }
+
+  private static void checkDepth(int depth) throws IOException {
+    if (depth > MAX_DEPTH) {
+      throw new IOException("JSON response is nested deeper than " + MAX_DEPTH + " levels");
+    }
+  }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+/**
+ * Listener notified of how the requests sent by {@link NetworkingModule} were served: from the HTTP
+ * cache of the {@link okhttp3.OkHttpClient}, from the network, or by sharing the response of an
+ * identical request already in flight.
+ */
+public interface NetworkCacheListener {
+
+  /** The response was served from the HTTP cache without contacting the server. */
+  void onCacheHit(int requestId, String url);
+
+  /** The cached response was revalidated with the server, which reported it as not modified. */
+  void onConditionalCacheHit(int requestId, String url);
+
+  /** The response was fetched from the network. */
+  void onCacheMiss(int requestId, String url);
+
+  /** The request was coalesced with the identical request {@code inFlightRequestId}. */
+  void onRequestCoalesced(int requestId, int inFlightRequestId, String url);
+}
@@ -20,18 +20,24 @@ import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.common.RequestPriority;
 import com.facebook.react.common.StandardCharsets;
 import com.facebook.react.common.network.OkHttpCallUtil;
 import com.facebook.react.module.annotations.ReactModule;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import okhttp3.Call;
 import okhttp3.Callback;
 import okhttp3.CookieJar;
@@ -45,6 +51,8 @@ import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSource;
 import okio.ByteString;
 import okio.GzipSource;
 import okio.Okio;
@@ -83,6 +91,34 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     WritableMap toResponseData(ResponseBody body) throws IOException;
   }
 
+  /**
+   * Allows streaming the {@link ResponseBody} to JS while it is downloaded, instead of accumulating
+   * the whole body in memory before handing it over. Only used for requests with incremental
+   * updates.
+   */
+  public interface StreamingResponseHandler {
+    /** Returns if the handler should be used for a response type. */
+    boolean supports(String responseType);
+
+    /**
+     * Returns the JS payload for the next chunk of the body of a request. The handler must consume
+     * all the bytes in {@code chunk}.
+     */
+    WritableMap toChunkData(int requestId, Buffer chunk) throws IOException;
+
+    /**
+     * Blocks until JS consumed enough of the chunks of a request, or the timeout, so that the body
+     * isn't read from the network faster than JS consumes it.
+     */
+    void awaitChunksConsumed(int requestId, long timeoutMs) throws InterruptedIOException;
+
+    /**
+     * Called when reading the body fails, e.g. once the request is aborted: JS won't consume the
+     * chunks of the request it was not handed yet.
+     */
+    void onStreamFailed(int requestId);
+  }
+
   private static final String TAG = NativeNetworkingAndroidSpec.NAME;
   private static final String CONTENT_ENCODING_HEADER_NAME = "content-encoding";
   private static final String CONTENT_TYPE_HEADER_NAME = "content-type";
@@ -90,20 +126,34 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
   private static final String REQUEST_BODY_KEY_URI = "uri";
   private static final String REQUEST_BODY_KEY_FORMDATA = "formData";
   private static final String REQUEST_BODY_KEY_BASE64 = "base64";
+  private static final String REQUEST_KEY_PRIORITY = "priority";
   private static final String USER_AGENT_HEADER_NAME = "user-agent";
   private static final int CHUNK_TIMEOUT_NS = 100 * 1000000; // 100ms
   private static final int MAX_CHUNK_SIZE_BETWEEN_FLUSHES = 8 * 1024; // 8K
+  private static final int MAX_STREAMING_CHUNK_SIZE = 64 * 1024; // 64K
+  private static final int MAX_PENDING_INCREMENTAL_LENGTH = 1024 * 1024; // 1M characters
+  private static final int MIN_INCREMENTAL_FLUSH_SIZE = 64 * 1024; // 64K
+  private static final long MIN_INCREMENTAL_FLUSH_INTERVAL_NS = 16 * 1000000; // 16ms
+  private static final int MAX_BACKPRESSURE_WAIT_MS = 1000;
 
   private static @Nullable CustomClientBuilder customClientBuilder = null;
+  private static @Nullable NetworkCacheListener sCacheListener = null;
+  private static boolean sRequestCoalescingEnabled = false;
+  private static @Nullable RequestScheduler.Listener sRequestSchedulerListener = null;
 
   private final OkHttpClient mClient;
   private final ForwardingCookieHandler mCookieHandler;
   private final @Nullable String mDefaultUserAgent;
   private final CookieJarContainer mCookieJarContainer;
   private final Set<Integer> mRequestIds;
+  private final Map<String, InFlightRequest> mInFlightRequests = new HashMap<>();
+  private final RequestScheduler mRequestScheduler;
+  private final AtomicLong mIncrementalEventCount = new AtomicLong();
+  private final AtomicLong mIncrementalBytesDelivered = new AtomicLong();
   private final List<RequestBodyHandler> mRequestBodyHandlers = new ArrayList<>();
   private final List<UriHandler> mUriHandlers = new ArrayList<>();
   private final List<ResponseHandler> mResponseHandlers = new ArrayList<>();
+  private final List<StreamingResponseHandler> mStreamingResponseHandlers = new ArrayList<>();
   private boolean mShuttingDown;
 
   public NetworkingModule(
@@ -126,6 +176,18 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     mShuttingDown = false;
     mDefaultUserAgent = defaultUserAgent;
     mRequestIds = new HashSet<>();
+    mRequestScheduler =
+        new RequestScheduler(
+            mClient.dispatcher(),
+            new RequestScheduler.Listener() {
+              @Override
+              public void onRequestStarted(int requestId, int priority, long queueTimeNanos) {
+                RequestScheduler.Listener listener = sRequestSchedulerListener;
+                if (listener != null) {
+                  listener.onRequestStarted(requestId, priority, queueTimeNanos);
+                }
+              }
+            });
   }
 
   /**
@@ -171,6 +233,51 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     public void apply(OkHttpClient.Builder builder);
   }
 
+  /**
+   * Sets a listener notified whether each request was served from the HTTP cache, from the network,
+   * or coalesced with an identical in-flight request.
+   */
+  public static void setCacheListener(@Nullable NetworkCacheListener cacheListener) {
+    sCacheListener = cacheListener;
+  }
+
+  /**
+   * When enabled, a GET request sent while an identical one (same url, headers, credentials and
+   * response type) is in flight doesn't hit the network: the response of the in-flight request is
+   * delivered to both. Requests with incremental updates are never coalesced.
+   */
+  public static void setRequestCoalescingEnabled(boolean enabled) {
+    sRequestCoalescingEnabled = enabled;
+  }
+
+  /**
+   * Sets a listener notified when each request is handed over to the network, with the time it
+   * spent queued behind requests of higher priority.
+   */
+  public static void setRequestSchedulerListener(@Nullable RequestScheduler.Listener listener) {
+    sRequestSchedulerListener = listener;
+  }
+
+  /**
+   * Sets how many requests of the given priority ({@code "high"}, {@code "normal"} or {@code
+   * "low"}) may run concurrently.
+   */
+  public void setMaxConcurrentRequests(String priority, int maxRequests) {
+    mRequestScheduler.setMaxRequests(RequestPriority.parse(priority), maxRequests);
+  }
+
+  /** Requests waiting for the response of a single coalesced call. */
+  private static final class InFlightRequest {
+    // The id the call was tagged with, which may no longer be in {@link #requestIds} if aborted.
+    final int callRequestId;
+    final List<Integer> requestIds = new ArrayList<>();
+
+    InFlightRequest(int callRequestId) {
+      this.callRequestId = callRequestId;
+      requestIds.add(callRequestId);
+    }
+  }
+
   private static void applyCustomBuilder(OkHttpClient.Builder builder) {
     if (customClientBuilder != null) {
       customClientBuilder.apply(builder);
@@ -192,6 +299,7 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
 
     mRequestBodyHandlers.clear();
     mResponseHandlers.clear();
+    mStreamingResponseHandlers.clear();
     mUriHandlers.clear();
   }
 
@@ -207,6 +315,10 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     mResponseHandlers.add(handler);
   }
 
+  public void addStreamingResponseHandler(StreamingResponseHandler handler) {
+    mStreamingResponseHandlers.add(handler);
+  }
+
   public void removeUriHandler(UriHandler handler) {
     mUriHandlers.remove(handler);
   }
@@ -219,6 +331,10 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     mResponseHandlers.remove(handler);
   }
 
+  public void removeStreamingResponseHandler(StreamingResponseHandler handler) {
+    mStreamingResponseHandlers.remove(handler);
+  }
+
   @Override
   public void sendRequest(
       String method,
@@ -330,6 +446,7 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
                           }
                           ResponseUtil.onDataReceivedProgress(
                               reactApplicationContext, requestId, bytesWritten, contentLength);
+                          mIncrementalEventCount.incrementAndGet();
                           last = now;
                         }
                       });
@@ -345,7 +462,7 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
     if (timeout != mClient.connectTimeoutMillis()) {
       clientBuilder.connectTimeout(timeout, TimeUnit.MILLISECONDS);
     }
-    OkHttpClient client = clientBuilder.build();
+    final OkHttpClient client = clientBuilder.build();
 
     Headers requestHeaders = extractHeaders(headers, data);
     if (requestHeaders == null) {
@@ -451,112 +568,214 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
 
     requestBuilder.method(method, wrapRequestBodyWithProgressEmitter(requestBody, requestId));
 
+    final @Nullable String coalescingKey =
+        shouldCoalesceRequest(method, useIncrementalUpdates)
+            ? getCoalescingKey(method, url, responseType, withCredentials, requestHeaders)
+            : null;
     addRequest(requestId);
-    client
-        .newCall(requestBuilder.build())
-        .enqueue(
-            new Callback() {
-              @Override
-              public void onFailure(Call call, IOException e) {
-                if (mShuttingDown) {
-                  return;
-                }
-                removeRequest(requestId);
-                String errorMessage =
-                    e.getMessage() != null
-                        ? e.getMessage()
-                        : "Error while executing request: " + e.getClass().getSimpleName();
-                ResponseUtil.onRequestError(reactApplicationContext, requestId, errorMessage, e);
-              }
+    if (coalescingKey != null && joinInFlightRequest(coalescingKey, requestId, url)) {
+      // An identical request is already in flight, its response will be delivered to this one too.
+      return;
+    }
 
-              @Override
-              public void onResponse(Call call, Response response) throws IOException {
-                if (mShuttingDown) {
-                  return;
-                }
-                removeRequest(requestId);
-                // Before we touch the body send headers to JS
-                ResponseUtil.onResponseReceived(
-                    reactApplicationContext,
-                    requestId,
-                    response.code(),
-                    translateHeaders(response.headers()),
-                    response.request().url().toString());
-
-                try {
-                  // OkHttp implements something called transparent gzip, which mean that it will
-                  // automatically add the Accept-Encoding gzip header and handle decoding
-                  // internally.
-                  // The issue is that it won't handle decoding if the user provides a
-                  // Accept-Encoding
-                  // header. This is also undesirable considering that iOS does handle the decoding
-                  // even
-                  // when the header is provided. To make sure this works in all cases, handle gzip
-                  // body
-                  // here also. This works fine since OKHttp will remove the Content-Encoding header
-                  // if
-                  // it used transparent gzip.
-                  // See
-                  // https://github.com/square/okhttp/blob/5b37cda9e00626f43acf354df145fd452c3031f1/okhttp/src/main/java/okhttp3/internal/http/BridgeInterceptor.java#L76-L111
-                  ResponseBody responseBody = response.body();
-                  if ("gzip".equalsIgnoreCase(response.header("Content-Encoding"))
-                      && responseBody != null) {
-                    GzipSource gzipSource = new GzipSource(responseBody.source());
-                    String contentType = response.header("Content-Type");
-                    responseBody =
-                        ResponseBody.create(
-                            contentType != null ? MediaType.parse(contentType) : null,
-                            -1L,
-                            Okio.buffer(gzipSource));
-                  }
-
-                  // Check if a handler is registered
-                  for (ResponseHandler handler : mResponseHandlers) {
-                    if (handler.supports(responseType)) {
-                      WritableMap res = handler.toResponseData(responseBody);
-                      ResponseUtil.onDataReceived(reactApplicationContext, requestId, res);
-                      ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
-                      return;
-                    }
-                  }
-
-                  // If JS wants progress updates during the download, and it requested a text
-                  // response,
-                  // periodically send response data updates to JS.
-                  if (useIncrementalUpdates && responseType.equals("text")) {
-                    readWithProgress(requestId, responseBody);
-                    ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
-                    return;
-                  }
-
-                  // Otherwise send the data in one big chunk, in the format that JS requested.
-                  String responseString = "";
-                  if (responseType.equals("text")) {
-                    try {
-                      responseString = responseBody.string();
-                    } catch (IOException e) {
-                      if (response.request().method().equalsIgnoreCase("HEAD")) {
-                        // The request is an `HEAD` and the body is empty,
-                        // the OkHttp will produce an exception.
-                        // Ignore the exception to not invalidate the request in the
-                        // Javascript layer.
-                        // Introduced to fix issue #7463.
-                      } else {
-                        ResponseUtil.onRequestError(
-                            reactApplicationContext, requestId, e.getMessage(), e);
-                      }
-                    }
-                  } else if (responseType.equals("base64")) {
-                    responseString = Base64.encodeToString(responseBody.bytes(), Base64.NO_WRAP);
-                  }
-                  ResponseUtil.onDataReceived(reactApplicationContext, requestId, responseString);
-                  ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
-                } catch (IOException e) {
-                  ResponseUtil.onRequestError(
-                      reactApplicationContext, requestId, e.getMessage(), e);
-                }
+    final Request request = requestBuilder.build();
+    final Callback callback =
+        new Callback() {
+          @Override
+          public void onFailure(Call call, IOException e) {
+            mRequestScheduler.finish(requestId);
+            if (mShuttingDown) {
+              return;
+            }
+            String errorMessage =
+                e.getMessage() != null
+                    ? e.getMessage()
+                    : "Error while executing request: " + e.getClass().getSimpleName();
+            for (int id : takeInFlightRequests(coalescingKey, requestId)) {
+              removeRequest(id);
+              ResponseUtil.onRequestError(reactApplicationContext, id, errorMessage, e);
+            }
+          }
+
+          @Override
+          public void onResponse(Call call, Response response) throws IOException {
+            try {
+              if (mShuttingDown) {
+                return;
               }
-            });
+              deliverResponse(
+                  reactApplicationContext,
+                  takeInFlightRequests(coalescingKey, requestId),
+                  response,
+                  responseType,
+                  useIncrementalUpdates);
+            } finally {
+              // The slot is only released once the body has been read, as it holds a connection.
+              mRequestScheduler.finish(requestId);
+            }
+          }
+        };
+
+    int priority =
+        data != null && data.hasKey(REQUEST_KEY_PRIORITY)
+            ? RequestPriority.parse(data.getString(REQUEST_KEY_PRIORITY))
+            : RequestPriority.NORMAL;
+    mRequestScheduler.enqueue(
+        requestId,
+        priority,
+        request.url().host(),
+        new Runnable() {
+          @Override
+          public void run() {
+            client.newCall(request).enqueue(callback);
+          }
+        });
+  }
+
+  private void deliverResponse(
+      ReactApplicationContext reactApplicationContext,
+      List<Integer> requestIds,
+      Response response,
+      String responseType,
+      boolean useIncrementalUpdates) {
+    for (int id : requestIds) {
+      removeRequest(id);
+      notifyCacheListener(id, response);
+    }
+    if (requestIds.size() == 1) {
+      handleResponse(
+          reactApplicationContext,
+          requestIds.get(0),
+          response,
+          responseType,
+          useIncrementalUpdates);
+      return;
+    }
+
+    if (requestIds.isEmpty()) {
+      // All the coalesced requests were aborted while the call was in flight.
+      response.close();
+      return;
+    }
+
+    // Several coalesced requests are waiting for this response: read the body once and replay it
+    // to each of them.
+    ResponseBody responseBody = response.body();
+    MediaType contentType = responseBody != null ? responseBody.contentType() : null;
+    byte[] body;
+    try {
+      body = responseBody != null ? responseBody.bytes() : new byte[0];
+    } catch (IOException e) {
+      for (int id : requestIds) {
+        ResponseUtil.onRequestError(reactApplicationContext, id, e.getMessage(), e);
+      }
+      return;
+    }
+    for (int id : requestIds) {
+      handleResponse(
+          reactApplicationContext,
+          id,
+          response.newBuilder().body(ResponseBody.create(contentType, body)).build(),
+          responseType,
+          useIncrementalUpdates);
+    }
+  }
+
+  private void handleResponse(
+      final ReactApplicationContext reactApplicationContext,
+      int requestId,
+      Response response,
+      String responseType,
+      boolean useIncrementalUpdates) {
+    // Before we touch the body send headers to JS
+    ResponseUtil.onResponseReceived(
+        reactApplicationContext,
+        requestId,
+        response.code(),
+        translateHeaders(response.headers()),
+        response.request().url().toString());
+
+    try {
+      // OkHttp implements something called transparent gzip, which mean that it will automatically
+      // add the Accept-Encoding gzip header and handle decoding internally.
+      // The issue is that it won't handle decoding if the user provides a Accept-Encoding header.
+      // This is also undesirable considering that iOS does handle the decoding even when the header
+      // is provided. To make sure this works in all cases, handle gzip body here also. This works
+      // fine since OKHttp will remove the Content-Encoding header if it used transparent gzip.
+      // See
+      // https://github.com/square/okhttp/blob/5b37cda9e00626f43acf354df145fd452c3031f1/okhttp/src/main/java/okhttp3/internal/http/BridgeInterceptor.java#L76-L111
+      ResponseBody responseBody = response.body();
+      if ("gzip".equalsIgnoreCase(response.header("Content-Encoding")) && responseBody != null) {
+        GzipSource gzipSource = new GzipSource(responseBody.source());
+        String contentType = response.header("Content-Type");
+        responseBody =
+            ResponseBody.create(
+                contentType != null ? MediaType.parse(contentType) : null,
+                -1L,
+                Okio.buffer(gzipSource));
+      }
+
+      // If JS wants the body streamed and a handler is registered for the response type,
+      // hand the body over chunk by chunk as it is read from the network.
+      if (useIncrementalUpdates) {
+        for (StreamingResponseHandler handler : mStreamingResponseHandlers) {
+          if (handler.supports(responseType)) {
+            readWithStreamingHandler(requestId, responseBody, handler);
+            ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
+            return;
+          }
+        }
+      }
+
+      // Check if a handler is registered
+      for (ResponseHandler handler : mResponseHandlers) {
+        if (handler.supports(responseType)) {
+          WritableMap res = handler.toResponseData(responseBody);
+          ResponseUtil.onDataReceived(reactApplicationContext, requestId, res);
+          ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
+          return;
+        }
+      }
+
+      // If JS wants progress updates during the download, and it requested a text response,
+      // periodically send response data updates to JS.
+      if (useIncrementalUpdates && responseType.equals("text")) {
+        readWithProgress(requestId, responseBody);
+        ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
+        return;
+      }
+
+      // JSON responses are parsed here, off the JS thread, and sent as a structured object.
+      if (responseType.equals("json")) {
+        ResponseUtil.onJsonDataReceived(reactApplicationContext, requestId, responseBody);
+        ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
+        return;
+      }
+
+      // Otherwise send the data in one big chunk, in the format that JS requested.
+      String responseString = "";
+      if (responseType.equals("text")) {
+        try {
+          responseString = responseBody.string();
+        } catch (IOException e) {
+          if (response.request().method().equalsIgnoreCase("HEAD")) {
+            // The request is an `HEAD` and the body is empty,
+            // the OkHttp will produce an exception.
+            // Ignore the exception to not invalidate the request in the
+            // Javascript layer.
+            // Introduced to fix issue #7463.
+          } else {
+            ResponseUtil.onRequestError(reactApplicationContext, requestId, e.getMessage(), e);
+          }
+        }
+      } else if (responseType.equals("base64")) {
+        responseString = Base64.encodeToString(responseBody.bytes(), Base64.NO_WRAP);
+      }
+      ResponseUtil.onDataReceived(reactApplicationContext, requestId, responseString);
+      ResponseUtil.onRequestSuccess(reactApplicationContext, requestId);
+    } catch (IOException e) {
+      ResponseUtil.onRequestError(reactApplicationContext, requestId, e.getMessage(), e);
+    }
   }
 
   private RequestBody wrapRequestBodyWithProgressEmitter(
@@ -583,16 +802,19 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
         });
   }
 
+  /**
+   * Reads a text body and sends it to JS as it is downloaded. Decoded text is coalesced into events
+   * of at least {@link #MIN_INCREMENTAL_FLUSH_SIZE} bytes, or sent at most every {@link
+   * #MIN_INCREMENTAL_FLUSH_INTERVAL_NS}: the end of a burst (e.g. of a streamed or long-polled
+   * response) is held back for at most that interval, never until the next burst. While the JS
+   * thread is still processing a previous event, text keeps being coalesced, up to {@link
+   * #MAX_PENDING_INCREMENTAL_LENGTH} characters or until no more of the body is available without
+   * blocking: reading then waits for JS to catch up before sending the coalesced text.
+   */
   private void readWithProgress(int requestId, ResponseBody responseBody) throws IOException {
-    long totalBytesRead = -1;
-    long contentLength = -1;
-    try {
-      ProgressResponseBody progressResponseBody = (ProgressResponseBody) responseBody;
-      totalBytesRead = progressResponseBody.totalBytesRead();
-      contentLength = progressResponseBody.contentLength();
-    } catch (ClassCastException e) {
-      // Ignore
-    }
+    ProgressResponseBody progressResponseBody =
+        responseBody instanceof ProgressResponseBody ? (ProgressResponseBody) responseBody : null;
+    long contentLength = progressResponseBody != null ? progressResponseBody.contentLength() : -1;
 
     Charset charset =
         responseBody.contentType() == null
@@ -606,19 +828,134 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
       int read;
       final ReactApplicationContext reactApplicationContext =
           getReactApplicationContextIfActiveOrWarn();
+      JSQueueBackpressure backpressure = new JSQueueBackpressure(reactApplicationContext);
+      StringBuilder pendingText = new StringBuilder();
+      long pendingBytes = 0;
+      // The first text is sent right away.
+      long lastFlushNanos = System.nanoTime() - MIN_INCREMENTAL_FLUSH_INTERVAL_NS;
       while ((read = inputStream.read(buffer)) != -1) {
+        pendingText.append(streamDecoder.decodeNext(buffer, read));
+        pendingBytes += read;
+        if (pendingBytes < MIN_INCREMENTAL_FLUSH_SIZE) {
+          long remainingNanos =
+              lastFlushNanos + MIN_INCREMENTAL_FLUSH_INTERVAL_NS - System.nanoTime();
+          if (remainingNanos > 0) {
+            if (inputStream.available() > 0) {
+              continue;
+            }
+            // The next read would block, send the end of this burst once the interval elapsed.
+            sleepNanos(remainingNanos);
+          }
+        }
+        if (!backpressure.isJSQueueDrained()) {
+          if (pendingText.length() < MAX_PENDING_INCREMENTAL_LENGTH
+              && inputStream.available() > 0) {
+            continue;
+          }
+          // Stop reading from the network until JS catches up.
+          backpressure.awaitJSQueueDrained(MAX_BACKPRESSURE_WAIT_MS);
+        }
         ResponseUtil.onIncrementalDataReceived(
             reactApplicationContext,
             requestId,
-            streamDecoder.decodeNext(buffer, read),
-            totalBytesRead,
+            pendingText.toString(),
+            progressResponseBody != null ? progressResponseBody.totalBytesRead() : -1,
             contentLength);
+        onIncrementalEventEmitted(pendingBytes);
+        backpressure.onEventEmitted();
+        pendingText.setLength(0);
+        pendingBytes = 0;
+        lastFlushNanos = System.nanoTime();
+      }
+      if (pendingText.length() > 0) {
+        ResponseUtil.onIncrementalDataReceived(
+            reactApplicationContext,
+            requestId,
+            pendingText.toString(),
+            progressResponseBody != null ? progressResponseBody.totalBytesRead() : -1,
+            contentLength);
+        onIncrementalEventEmitted(pendingBytes);
       }
     } finally {
       inputStream.close();
     }
   }
 
+  private static void sleepNanos(long nanos) throws InterruptedIOException {
+    try {
+      Thread.sleep(nanos / 1000000, (int) (nanos % 1000000));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException();
+    }
+  }
+
+  private void onIncrementalEventEmitted(long bytes) {
+    mIncrementalEventCount.incrementAndGet();
+    mIncrementalBytesDelivered.addAndGet(bytes);
+  }
+
+  /** Returns the number of incremental data and progress events emitted to JS. */
+  public long getIncrementalEventCount() {
+    return mIncrementalEventCount.get();
+  }
+
+  /** Returns the number of response bytes delivered to JS through incremental data events. */
+  public long getIncrementalBytesDelivered() {
+    return mIncrementalBytesDelivered.get();
+  }
+
+  /**
+   * Reads the body straight from its {@link BufferedSource} into a reused {@link Buffer}, and hands
+   * it over to {@code handler} every {@link #MAX_STREAMING_CHUNK_SIZE} bytes or {@link
+   * #CHUNK_TIMEOUT_NS}, whichever comes first. The body is never decoded into a {@link String}, and
+   * reading from the network is paused while JS is behind on consuming the chunks.
+   */
+  private void readWithStreamingHandler(
+      int requestId, ResponseBody responseBody, StreamingResponseHandler handler)
+      throws IOException {
+    long contentLength = responseBody.contentLength();
+    final ReactApplicationContext reactApplicationContext =
+        getReactApplicationContextIfActiveOrWarn();
+    BufferedSource source = responseBody.source();
+    Buffer chunk = new Buffer();
+    long totalBytesRead = 0;
+    long last = System.nanoTime();
+    boolean completed = false;
+    try {
+      long read;
+      while ((read = source.read(chunk, MAX_CHUNK_SIZE_BETWEEN_FLUSHES)) != -1) {
+        totalBytesRead += read;
+        long now = System.nanoTime();
+        if (chunk.size() >= MAX_STREAMING_CHUNK_SIZE || shouldDispatch(now, last)) {
+          ResponseUtil.onIncrementalDataReceived(
+              reactApplicationContext,
+              requestId,
+              handler.toChunkData(requestId, chunk),
+              totalBytesRead,
+              contentLength);
+          handler.awaitChunksConsumed(requestId, MAX_BACKPRESSURE_WAIT_MS);
+          last = System.nanoTime();
+        }
+      }
+      if (chunk.size() > 0) {
+        ResponseUtil.onIncrementalDataReceived(
+            reactApplicationContext,
+            requestId,
+            handler.toChunkData(requestId, chunk),
+            totalBytesRead,
+            contentLength);
+      }
+      completed = true;
+    } finally {
+      chunk.clear();
+      responseBody.close();
+      if (!completed) {
+        handler.onStreamFailed(requestId);
+      }
+    }
+  }
+
   private static boolean shouldDispatch(long now, long last) {
     return last + CHUNK_TIMEOUT_NS < now;
   }
@@ -636,6 +973,87 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
       cancelRequest(requestId);
     }
     mRequestIds.clear();
+    mInFlightRequests.clear();
+    mRequestScheduler.clear();
+  }
+
+  private static boolean shouldCoalesceRequest(String method, boolean useIncrementalUpdates) {
+    return sRequestCoalescingEnabled
+        && !useIncrementalUpdates
+        && method.toLowerCase(Locale.ROOT).equals("get");
+  }
+
+  private static String getCoalescingKey(
+      String method, String url, String responseType, boolean withCredentials, Headers headers) {
+    return method + ' ' + url + ' ' + responseType + ' ' + withCredentials + '\n' + headers;
+  }
+
+  /**
+   * Registers {@code requestId} as waiting for the request identified by {@code coalescingKey}.
+   *
+   * @return true if an identical request was already in flight, false if {@code requestId} must be
+   *     sent
+   */
+  private synchronized boolean joinInFlightRequest(
+      String coalescingKey, int requestId, String url) {
+    InFlightRequest inFlightRequest = mInFlightRequests.get(coalescingKey);
+    if (inFlightRequest == null) {
+      mInFlightRequests.put(coalescingKey, new InFlightRequest(requestId));
+      return false;
+    }
+    inFlightRequest.requestIds.add(requestId);
+    NetworkCacheListener cacheListener = sCacheListener;
+    if (cacheListener != null) {
+      cacheListener.onRequestCoalesced(requestId, inFlightRequest.callRequestId, url);
+    }
+    return true;
+  }
+
+  /** Returns the ids of all the requests waiting for the completed request {@code requestId}. */
+  private synchronized List<Integer> takeInFlightRequests(
+      @Nullable String coalescingKey, int requestId) {
+    if (coalescingKey == null) {
+      return Collections.singletonList(requestId);
+    }
+    InFlightRequest inFlightRequest = mInFlightRequests.remove(coalescingKey);
+    return inFlightRequest != null
+        ? inFlightRequest.requestIds
+        : Collections.<Integer>emptyList();
+  }
+
+  /**
+   * Stops delivering the response of a coalesced call to {@code requestId}.
+   *
+   * @return the id the call to cancel was tagged with, which is {@code requestId} unless the
+   *     request was coalesced, or null if other requests are still waiting for the call
+   */
+  private synchronized @Nullable Integer leaveInFlightRequest(int requestId) {
+    for (Map.Entry<String, InFlightRequest> entry : mInFlightRequests.entrySet()) {
+      InFlightRequest inFlightRequest = entry.getValue();
+      if (inFlightRequest.requestIds.remove(Integer.valueOf(requestId))) {
+        if (!inFlightRequest.requestIds.isEmpty()) {
+          return null;
+        }
+        mInFlightRequests.remove(entry.getKey());
+        return inFlightRequest.callRequestId;
+      }
+    }
+    return requestId;
+  }
+
+  private static void notifyCacheListener(int requestId, Response response) {
+    NetworkCacheListener cacheListener = sCacheListener;
+    if (cacheListener == null) {
+      return;
+    }
+    String url = response.request().url().toString();
+    if (response.networkResponse() == null) {
+      cacheListener.onCacheHit(requestId, url);
+    } else if (response.cacheResponse() != null) {
+      cacheListener.onConditionalCacheHit(requestId, url);
+    } else {
+      cacheListener.onCacheMiss(requestId, url);
+    }
   }
 
   private static WritableMap translateHeaders(Headers headers) {
@@ -656,7 +1074,10 @@ public final class NetworkingModule extends NativeNetworkingAndroidSpec {
   @Override
   public void abortRequest(double requestIdAsDouble) {
     int requestId = (int) requestIdAsDouble;
-    cancelRequest(requestId);
+    Integer callRequestId = leaveInFlightRequest(requestId);
+    if (callRequestId != null && !mRequestScheduler.cancel(callRequestId)) {
+      cancelRequest(callRequestId);
+    }
     removeRequest(requestId);
   }
 
@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.network;
+
+import androidx.annotation.Nullable;
+import com.facebook.react.common.RequestPriority;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import okhttp3.Dispatcher;
+
+/**
+ * Decides when the calls of {@link NetworkingModule} are handed over to the OkHttp {@link
+ * Dispatcher}, which runs calls in FIFO order. Pending requests are started by priority, as long
+ * as the concurrency cap of their priority and the limit of requests per host allow it, so that
+ * low priority requests (prefetches, analytics beacons...) can't starve user-facing ones.
+ *
+ * <p>With the default caps, requests of {@link RequestPriority#NORMAL} are scheduled exactly as
+ * the dispatcher would schedule them.
+ */
+public class RequestScheduler {
+
+  /** Listener notified when a request leaves the queue, with the time it spent waiting. */
+  public interface Listener {
+    void onRequestStarted(int requestId, int priority, long queueTimeNanos);
+  }
+
+  private static final int DEFAULT_MAX_LOW_PRIORITY_REQUESTS = 4;
+
+  private static final class PendingRequest {
+    final int requestId;
+    final int priority;
+    final String host;
+    final Runnable start;
+    final long enqueueTimeNanos;
+
+    PendingRequest(int requestId, int priority, String host, Runnable start) {
+      this.requestId = requestId;
+      this.priority = priority;
+      this.host = host;
+      this.start = start;
+      this.enqueueTimeNanos = System.nanoTime();
+    }
+  }
+
+  private final Listener mListener;
+  private final int mMaxRequests;
+  private final int mMaxRequestsPerHost;
+  private final int[] mMaxRequestsPerPriority = new int[RequestPriority.COUNT];
+  private final int[] mRunningRequestsPerPriority = new int[RequestPriority.COUNT];
+  private final ArrayDeque<PendingRequest>[] mPendingRequests;
+  private final Map<String, Integer> mRunningRequestsPerHost = new HashMap<>();
+  private final Map<Integer, PendingRequest> mRunningRequests = new HashMap<>();
+  private int mRunningRequestCount;
+
+  @SuppressWarnings("unchecked")
+  RequestScheduler(Dispatcher dispatcher, Listener listener) {
+    mListener = listener;
+    mMaxRequests = dispatcher.getMaxRequests();
+    mMaxRequestsPerHost = dispatcher.getMaxRequestsPerHost();
+    mMaxRequestsPerPriority[RequestPriority.HIGH] = mMaxRequests;
+    mMaxRequestsPerPriority[RequestPriority.NORMAL] = mMaxRequests;
+    mMaxRequestsPerPriority[RequestPriority.LOW] = DEFAULT_MAX_LOW_PRIORITY_REQUESTS;
+    mPendingRequests = new ArrayDeque[RequestPriority.COUNT];
+    for (int i = 0; i < RequestPriority.COUNT; i++) {
+      mPendingRequests[i] = new ArrayDeque<>();
+    }
+  }
+
+  /** Sets the maximum number of requests of {@code priority} allowed to run concurrently. */
+  public synchronized void setMaxRequests(int priority, int maxRequests) {
+    mMaxRequestsPerPriority[priority] = Math.max(1, Math.min(maxRequests, mMaxRequests));
+  }
+
+  /**
+   * Queues a request, {@code start} is run (possibly synchronously) once the request can be handed
+   * over to the dispatcher. {@link #finish(int)} must be called once it completes.
+   */
+  public void enqueue(int requestId, int priority, String host, Runnable start) {
+    synchronized (this) {
+      mPendingRequests[priority].add(new PendingRequest(requestId, priority, host, start));
+    }
+    promoteAndExecute();
+  }
+
+  /** Releases the slot of a started request, starting the next pending requests if any. */
+  public void finish(int requestId) {
+    synchronized (this) {
+      PendingRequest request = mRunningRequests.remove(requestId);
+      if (request == null) {
+        return;
+      }
+      mRunningRequestCount--;
+      mRunningRequestsPerPriority[request.priority]--;
+      Integer runningForHost = mRunningRequestsPerHost.get(request.host);
+      if (runningForHost == null || runningForHost <= 1) {
+        mRunningRequestsPerHost.remove(request.host);
+      } else {
+        mRunningRequestsPerHost.put(request.host, runningForHost - 1);
+      }
+    }
+    promoteAndExecute();
+  }
+
+  /**
+   * Removes a request that hasn't been started yet.
+   *
+   * @return true if the request was still pending
+   */
+  public synchronized boolean cancel(int requestId) {
+    for (ArrayDeque<PendingRequest> pendingRequests : mPendingRequests) {
+      for (Iterator<PendingRequest> it = pendingRequests.iterator(); it.hasNext(); ) {
+        if (it.next().requestId == requestId) {
+          it.remove();
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  public synchronized void clear() {
+    for (ArrayDeque<PendingRequest> pendingRequests : mPendingRequests) {
+      pendingRequests.clear();
+    }
+    mRunningRequests.clear();
+    mRunningRequestsPerHost.clear();
+    mRunningRequestCount = 0;
+    for (int i = 0; i < RequestPriority.COUNT; i++) {
+      mRunningRequestsPerPriority[i] = 0;
+    }
+  }
+
+  private void promoteAndExecute() {
+    PendingRequest request;
+    while ((request = promoteNext()) != null) {
+      mListener.onRequestStarted(
+          request.requestId, request.priority, System.nanoTime() - request.enqueueTimeNanos);
+      // Started outside of the lock, like the dispatcher does, as this may block on the client.
+      request.start.run();
+    }
+  }
+
+  private synchronized @Nullable PendingRequest promoteNext() {
+    if (mRunningRequestCount >= mMaxRequests) {
+      return null;
+    }
+    for (int priority = 0; priority < RequestPriority.COUNT; priority++) {
+      if (mRunningRequestsPerPriority[priority] >= mMaxRequestsPerPriority[priority]) {
+        continue;
+      }
+      for (Iterator<PendingRequest> it = mPendingRequests[priority].iterator(); it.hasNext(); ) {
+        PendingRequest request = it.next();
+        Integer runningForHost = mRunningRequestsPerHost.get(request.host);
+        if (runningForHost != null && runningForHost >= mMaxRequestsPerHost) {
+          continue;
+        }
+        it.remove();
+        mRunningRequests.put(request.requestId, request);
+        mRunningRequestCount++;
+        mRunningRequestsPerPriority[priority]++;
+        mRunningRequestsPerHost.put(request.host, runningForHost == null ? 1 : runningForHost + 1);
+        return request;
+      }
+    }
+    return null;
+  }
+}
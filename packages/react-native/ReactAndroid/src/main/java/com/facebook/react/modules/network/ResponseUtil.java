@@ -12,7 +12,9 @@ import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
+import java.io.IOException;
 import java.net.SocketTimeoutException;
+import okhttp3.ResponseBody;
 
 /** Util methods to send network responses to JS. */
 public class ResponseUtil {
@@ -44,6 +46,23 @@ public class ResponseUtil {
     }
   }
 
+  public static void onIncrementalDataReceived(
+      @Nullable ReactApplicationContext reactContext,
+      int requestId,
+      WritableMap data,
+      long progress,
+      long total) {
+    WritableArray args = Arguments.createArray();
+    args.pushInt(requestId);
+    args.pushMap(data);
+    args.pushInt((int) progress);
+    args.pushInt((int) total);
+
+    if (reactContext != null) {
+      reactContext.emitDeviceEvent("didReceiveNetworkIncrementalData", args);
+    }
+  }
+
   public static void onDataReceivedProgress(
       @Nullable ReactApplicationContext reactContext, int requestId, long progress, long total) {
     WritableArray args = Arguments.createArray();
@@ -78,6 +97,22 @@ public class ResponseUtil {
     }
   }
 
+  /**
+   * Sends the JSON response {@code body} to JS, parsed on the calling thread. JS receives null if
+   * the body isn't valid JSON, or the body as a string if it isn't an object or an array.
+   */
+  public static void onJsonDataReceived(
+      @Nullable ReactApplicationContext reactContext, int requestId, ResponseBody body)
+      throws IOException {
+    WritableArray args = Arguments.createArray();
+    args.pushInt(requestId);
+    JsonResponseParser.pushResponse(body, args);
+
+    if (reactContext != null) {
+      reactContext.emitDeviceEvent("didReceiveNetworkData", args);
+    }
+  }
+
   public static void onRequestError(
       @Nullable ReactApplicationContext reactContext, int requestId, String error, Throwable e) {
     WritableArray args = Arguments.createArray();
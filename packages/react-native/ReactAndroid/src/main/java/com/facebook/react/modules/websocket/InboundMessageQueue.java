@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.modules.websocket;
+
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.network.JSQueueBackpressure;
+import java.util.ArrayList;
+import java.util.List;
+import okio.Buffer;
+import okio.ByteString;
+
+/**
+ * Messages received on a socket and not sent to JS yet. They are sent as a single event per
+ * dispatch, and consecutive binary messages are concatenated so that they are encoded to base64
+ * only once.
+ *
+ * <p>The socket thread is the only producer. The queue lock is held while the drained event is sent
+ * (see {@link WebSocketModule}), so that events of a socket are always emitted in order. Each
+ * queue tracks whether JS processed its own events, so that a busy socket doesn't hold back the
+ * others.
+ */
+/* package */ class InboundMessageQueue {
+
+  private final int mId;
+  private final JSQueueBackpressure mJSQueueBackpressure;
+  // Either the params of a message ready to be sent, or the ByteString of a raw binary message.
+  private final List<Object> mMessages = new ArrayList<>();
+  private long mQueuedBytes = 0;
+  private int mLateMessageCount = 0;
+  private boolean mClosed = false;
+
+  InboundMessageQueue(int id, JSQueueBackpressure jsQueueBackpressure) {
+    mId = id;
+    mJSQueueBackpressure = jsQueueBackpressure;
+  }
+
+  public synchronized void addMessage(WritableMap params, long size) {
+    mMessages.add(params);
+    mQueuedBytes += size;
+  }
+
+  public synchronized void addBinaryMessage(ByteString bytes) {
+    mMessages.add(bytes);
+    mQueuedBytes += bytes.size();
+  }
+
+  public synchronized boolean isEmpty() {
+    return mMessages.isEmpty();
+  }
+
+  public synchronized int size() {
+    return mMessages.size();
+  }
+
+  public synchronized long getQueuedBytes() {
+    return mQueuedBytes;
+  }
+
+  /** Returns how many of the queued messages already missed a dispatch because JS was busy. */
+  public synchronized int getLateMessageCount() {
+    return mLateMessageCount;
+  }
+
+  /** Returns whether JS processed all the events drained from this queue so far. */
+  public boolean isJSQueueDrained() {
+    return mJSQueueBackpressure.isJSQueueDrained();
+  }
+
+  /** Must be called right after the event returned by {@link #drain()} is sent to JS. */
+  public void onEventEmitted() {
+    mJSQueueBackpressure.onEventEmitted();
+  }
+
+  /** Called when a dispatch is skipped, all the messages queued so far are then late. */
+  public synchronized void markLate() {
+    mLateMessageCount = mMessages.size();
+  }
+
+  /**
+   * Empties the queue into the params of a single "websocketMessage" event, or returns null if
+   * there are no queued messages.
+   */
+  public synchronized @Nullable WritableMap drain() {
+    if (mMessages.isEmpty()) {
+      return null;
+    }
+    WritableArray messages = Arguments.createArray();
+    WritableMap lastMessage = null;
+    int messageCount = 0;
+    for (int i = 0, size = mMessages.size(); i < size; ) {
+      if (mMessages.get(i) instanceof WritableMap) {
+        lastMessage = (WritableMap) mMessages.get(i);
+        i++;
+      } else {
+        int end = i;
+        while (end < size && mMessages.get(end) instanceof ByteString) {
+          end++;
+        }
+        lastMessage = createBinaryMessage(mMessages.subList(i, end));
+        i = end;
+      }
+      messages.pushMap(lastMessage);
+      messageCount++;
+    }
+    mMessages.clear();
+    mQueuedBytes = 0;
+    mLateMessageCount = 0;
+    notifyAll();
+
+    if (messageCount == 1) {
+      return lastMessage;
+    }
+    WritableMap params = Arguments.createMap();
+    params.putInt("id", mId);
+    params.putString("type", "batch");
+    params.putArray("messages", messages);
+    return params;
+  }
+
+  /**
+   * Blocks the calling socket thread, which stops reading from the socket, until the queued bytes
+   * go below {@code highWaterMark}, the queue is closed or the timeout.
+   */
+  public synchronized void awaitQueuedBytesBelow(long highWaterMark, long timeoutMs)
+      throws InterruptedException {
+    long deadline = System.currentTimeMillis() + timeoutMs;
+    long remaining = timeoutMs;
+    while (!mClosed && mQueuedBytes > highWaterMark && remaining > 0) {
+      wait(remaining);
+      remaining = deadline - System.currentTimeMillis();
+    }
+  }
+
+  /** Wakes up the socket thread if it waits in {@link #awaitQueuedBytesBelow(long, long)}. */
+  public synchronized void close() {
+    mClosed = true;
+    notifyAll();
+  }
+
+  private WritableMap createBinaryMessage(List<Object> binaryMessages) {
+    WritableMap params = Arguments.createMap();
+    params.putInt("id", mId);
+    if (binaryMessages.size() == 1) {
+      params.putString("type", "binary");
+      params.putString("data", ((ByteString) binaryMessages.get(0)).base64());
+      return params;
+    }
+    Buffer data = new Buffer();
+    WritableArray lengths = Arguments.createArray();
+    for (Object message : binaryMessages) {
+      ByteString bytes = (ByteString) message;
+      data.write(bytes);
+      lengths.pushInt(bytes.size());
+    }
+    params.putString("type", "binaryBatch");
+    params.putString("data", data.readByteString().base64());
+    params.putArray("lengths", lengths);
+    return params;
+  }
+}
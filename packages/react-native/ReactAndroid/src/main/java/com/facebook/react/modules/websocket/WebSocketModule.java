@@ -19,7 +19,10 @@ import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.common.ReactConstants;
 import com.facebook.react.module.annotations.ReactModule;
+import com.facebook.react.modules.core.ChoreographerCompat;
+import com.facebook.react.modules.core.ReactChoreographer;
 import com.facebook.react.modules.network.ForwardingCookieHandler;
+import com.facebook.react.modules.network.JSQueueBackpressure;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -28,6 +31,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.Response;
@@ -43,8 +47,61 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
     void onMessage(ByteString byteString, WritableMap params);
   }
 
+  /** Listener notified of the state of the inbound message queue of each socket. */
+  public interface MessageQueueListener {
+    /**
+     * {@code messageCount} messages totalling {@code queuedBytes} were sent to JS in a single
+     * event, {@code lateMessageCount} of them having missed a previous dispatch because JS was
+     * busy.
+     */
+    void onMessagesDispatched(int id, int messageCount, int lateMessageCount, long queuedBytes);
+
+    /** Reading from the socket was paused as {@code queuedBytes} exceeded the high-water mark. */
+    void onReadPaused(int id, long queuedBytes);
+
+    /** {@code messageCount} queued messages were discarded as the module was invalidated. */
+    void onMessagesDropped(int id, int messageCount);
+  }
+
+  private static final long DEFAULT_MESSAGE_QUEUE_HIGH_WATER_MARK = 1024 * 1024; // 1MB
+  // Reading resumes after this delay even if JS is still busy, so a stalled JS thread can't hang
+  // the socket thread.
+  private static final int MAX_READ_PAUSE_MS = 1000;
+
+  private static boolean sMessageBatchingEnabled = false;
+  private static long sMessageQueueHighWaterMark = DEFAULT_MESSAGE_QUEUE_HIGH_WATER_MARK;
+  private static @Nullable MessageQueueListener sMessageQueueListener = null;
+
   private final Map<Integer, WebSocket> mWebSocketConnections = new ConcurrentHashMap<>();
   private final Map<Integer, ContentHandler> mContentHandlers = new ConcurrentHashMap<>();
+  private final Map<Integer, InboundMessageQueue> mMessageQueues = new ConcurrentHashMap<>();
+  private final AtomicBoolean mIsMessageFlushScheduled = new AtomicBoolean(false);
+
+  private final ChoreographerCompat.FrameCallback mFlushMessagesCallback =
+      new ChoreographerCompat.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+          mIsMessageFlushScheduled.set(false);
+          boolean hasPendingMessages = false;
+          for (Map.Entry<Integer, InboundMessageQueue> entry : mMessageQueues.entrySet()) {
+            InboundMessageQueue queue = entry.getValue();
+            if (queue.isEmpty()) {
+              continue;
+            }
+            if (!queue.isJSQueueDrained()) {
+              // JS hasn't processed the previous messages of this socket yet, keep queuing until
+              // the next frame.
+              queue.markLate();
+              hasPendingMessages = true;
+              continue;
+            }
+            flushMessages(entry.getKey());
+          }
+          if (hasPendingMessages) {
+            scheduleMessageFlush();
+          }
+        }
+      };
 
   private ForwardingCookieHandler mCookieHandler;
 
@@ -60,6 +117,123 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
     }
     mWebSocketConnections.clear();
     mContentHandlers.clear();
+    MessageQueueListener listener = sMessageQueueListener;
+    for (Map.Entry<Integer, InboundMessageQueue> entry : mMessageQueues.entrySet()) {
+      InboundMessageQueue queue = entry.getValue();
+      if (listener != null && !queue.isEmpty()) {
+        listener.onMessagesDropped(entry.getKey(), queue.size());
+      }
+      queue.close();
+    }
+    mMessageQueues.clear();
+  }
+
+  /**
+   * When enabled, the messages received on a socket are queued and sent to JS as a single event
+   * once per frame, and only once JS processed the previous event. Reading from the socket is
+   * paused while more than the high-water mark is queued.
+   */
+  public static void setMessageBatchingEnabled(boolean enabled) {
+    sMessageBatchingEnabled = enabled;
+  }
+
+  /** Sets how many bytes may be queued for a socket before reading from it is paused. */
+  public static void setMessageQueueHighWaterMark(long highWaterMark) {
+    sMessageQueueHighWaterMark = highWaterMark;
+  }
+
+  public static void setMessageQueueListener(@Nullable MessageQueueListener listener) {
+    sMessageQueueListener = listener;
+  }
+
+  /**
+   * Queues the params of a message, called on the socket thread which may block to apply
+   * backpressure.
+   */
+  private void enqueueMessage(int id, WritableMap params, long size) {
+    InboundMessageQueue queue = getOrCreateMessageQueue(id);
+    queue.addMessage(params, size);
+    onMessageQueued(id, queue);
+  }
+
+  /** Queues a binary message, which will be encoded to base64 together with its neighbours. */
+  private void enqueueBinaryMessage(int id, ByteString bytes) {
+    InboundMessageQueue queue = getOrCreateMessageQueue(id);
+    queue.addBinaryMessage(bytes);
+    onMessageQueued(id, queue);
+  }
+
+  private InboundMessageQueue getOrCreateMessageQueue(int id) {
+    InboundMessageQueue queue = mMessageQueues.get(id);
+    if (queue == null) {
+      queue = new InboundMessageQueue(id, new JSQueueBackpressure(getReactApplicationContext()));
+      mMessageQueues.put(id, queue);
+    }
+    return queue;
+  }
+
+  private void onMessageQueued(int id, InboundMessageQueue queue) {
+    scheduleMessageFlush();
+
+    long highWaterMark = sMessageQueueHighWaterMark;
+    long queuedBytes = queue.getQueuedBytes();
+    if (queuedBytes <= highWaterMark) {
+      return;
+    }
+    MessageQueueListener listener = sMessageQueueListener;
+    if (listener != null) {
+      listener.onReadPaused(id, queuedBytes);
+    }
+    // OkHttp has no way to pause reading from a socket, but it only reads the next frame once this
+    // callback returns: blocking here fills the TCP receive window and slows down the server.
+    try {
+      queue.awaitQueuedBytesBelow(highWaterMark, MAX_READ_PAUSE_MS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void scheduleMessageFlush() {
+    if (mIsMessageFlushScheduled.compareAndSet(false, true)) {
+      ReactChoreographer.getInstance()
+          .postFrameCallback(ReactChoreographer.CallbackType.TIMERS_EVENTS, mFlushMessagesCallback);
+    }
+  }
+
+  /**
+   * Sends the messages queued for a socket. Must be called before sending any other event for that
+   * socket, to preserve ordering.
+   */
+  private void flushMessages(int id) {
+    InboundMessageQueue queue = mMessageQueues.get(id);
+    if (queue == null) {
+      return;
+    }
+    // Held while sending, so that a flush from the frame callback can't be overtaken by an event
+    // sent from the socket thread.
+    synchronized (queue) {
+      int messageCount = queue.size();
+      int lateMessageCount = queue.getLateMessageCount();
+      long queuedBytes = queue.getQueuedBytes();
+      WritableMap params = queue.drain();
+      if (params == null) {
+        return;
+      }
+      sendEvent("websocketMessage", params);
+      queue.onEventEmitted();
+      MessageQueueListener listener = sMessageQueueListener;
+      if (listener != null) {
+        listener.onMessagesDispatched(id, messageCount, lateMessageCount, queuedBytes);
+      }
+    }
+  }
+
+  private void closeMessageQueue(int id) {
+    flushMessages(id);
+    InboundMessageQueue queue = mMessageQueues.remove(id);
+    if (queue != null) {
+      queue.close();
+    }
   }
 
   private void sendEvent(String eventName, WritableMap params) {
@@ -159,6 +333,7 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
 
           @Override
           public void onClosed(WebSocket webSocket, int code, String reason) {
+            closeMessageQueue(id);
             WritableMap params = Arguments.createMap();
             params.putInt("id", id);
             params.putInt("code", code);
@@ -168,6 +343,7 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
 
           @Override
           public void onFailure(WebSocket webSocket, Throwable t, Response response) {
+            closeMessageQueue(id);
             notifyWebSocketFailed(id, t.getMessage());
           }
 
@@ -183,16 +359,28 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
             } else {
               params.putString("data", text);
             }
+
+            if (sMessageBatchingEnabled) {
+              // The UTF-16 length is close enough to the size of the message for flow control.
+              enqueueMessage(id, params, text.length());
+              return;
+            }
+            flushMessages(id);
             sendEvent("websocketMessage", params);
           }
 
           @Override
           public void onMessage(WebSocket webSocket, ByteString bytes) {
+            ContentHandler contentHandler = mContentHandlers.get(id);
+            if (contentHandler == null && sMessageBatchingEnabled) {
+              enqueueBinaryMessage(id, bytes);
+              return;
+            }
+
             WritableMap params = Arguments.createMap();
             params.putInt("id", id);
             params.putString("type", "binary");
 
-            ContentHandler contentHandler = mContentHandlers.get(id);
             if (contentHandler != null) {
               contentHandler.onMessage(bytes, params);
             } else {
@@ -201,6 +389,11 @@ public final class WebSocketModule extends NativeWebSocketModuleSpec {
               params.putString("data", text);
             }
 
+            if (sMessageBatchingEnabled) {
+              enqueueMessage(id, params, bytes.size());
+              return;
+            }
+            flushMessages(id);
             sendEvent("websocketMessage", params);
           }
         });
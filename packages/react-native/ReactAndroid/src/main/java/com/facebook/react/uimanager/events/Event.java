@@ -13,6 +13,7 @@ import com.facebook.react.common.SystemClock;
 import com.facebook.react.uimanager.IllegalViewOperationException;
 import com.facebook.react.uimanager.common.UIManagerType;
 import com.facebook.react.uimanager.common.ViewUtil;
+import java.util.List;
 
 /**
  * A UI event that can be dispatched to JS.
@@ -166,6 +167,15 @@ public abstract class Event<T extends Event> {
   /** @return the name of this event as registered in JS */
   public abstract String getEventName();
 
+  /**
+   * Can be overridden by events that drive native animations at a high rate, like scroll events,
+   * to provide the number at {@code eventPath} in their data without building it. Returns false if
+   * the path isn't supported, otherwise the number is written to {@code outValue[0]}.
+   */
+  public boolean getAnimatedEventValue(List<String> eventPath, double[] outValue) {
+    return false;
+  }
+
   public EventAnimationDriverMatchSpec getEventAnimationDriverMatchSpec() {
     if (mEventAnimationDriverMatchSpec == null) {
       mEventAnimationDriverMatchSpec =
@@ -8,6 +8,7 @@
 package com.facebook.react.uimanager.layoutanimation;
 
 import android.view.View;
+import android.view.ViewPropertyAnimator;
 import android.view.animation.AccelerateDecelerateInterpolator;
 import android.view.animation.AccelerateInterpolator;
 import android.view.animation.Animation;
@@ -100,6 +101,17 @@ import java.util.Map;
     return animation;
   }
 
+  /**
+   * Configures a property animator with the duration, delay and interpolator supplied at
+   * initialization time, like {@link #createAnimation} does for animation objects.
+   */
+  /* package */ final void configureAnimator(ViewPropertyAnimator animator) {
+    int slowdownFactor = SLOWDOWN_ANIMATION_MODE ? 10 : 1;
+    animator.setDuration(mDurationMs * slowdownFactor);
+    animator.setStartDelay(mDelayMs * slowdownFactor);
+    animator.setInterpolator(mInterpolator);
+  }
+
   private static Interpolator getInterpolator(InterpolatorType type, ReadableMap params) {
     Interpolator interpolator;
     if (type.equals(InterpolatorType.SPRING)) {
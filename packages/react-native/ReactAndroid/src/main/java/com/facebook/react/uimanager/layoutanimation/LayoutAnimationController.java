@@ -10,13 +10,16 @@ package com.facebook.react.uimanager.layoutanimation;
 import android.os.Handler;
 import android.os.Looper;
 import android.util.SparseArray;
+import android.util.SparseBooleanArray;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewPropertyAnimator;
 import android.view.animation.Animation;
 import androidx.annotation.Nullable;
 import com.facebook.react.bridge.Callback;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.config.ReactFeatureFlags;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -31,6 +34,9 @@ public class LayoutAnimationController {
   private final AbstractLayoutAnimation mLayoutUpdateAnimation = new LayoutUpdateAnimation();
   private final AbstractLayoutAnimation mLayoutDeleteAnimation = new LayoutDeleteAnimation();
   private final SparseArray<LayoutHandlingAnimation> mLayoutHandlers = new SparseArray<>(0);
+  // Views whose layout update is animated by their property animator, see
+  // `applyLayoutUpdateWithPropertyAnimator`.
+  private final SparseBooleanArray mPropertyAnimatedViews = new SparseBooleanArray(0);
 
   private boolean mShouldAnimateLayout;
   private long mMaxAnimationDuration = -1;
@@ -92,7 +98,8 @@ public class LayoutAnimationController {
       return false;
     }
     return (mShouldAnimateLayout && viewToAnimate.getParent() != null)
-        || mLayoutHandlers.get(viewToAnimate.getId()) != null;
+        || mLayoutHandlers.get(viewToAnimate.getId()) != null
+        || mPropertyAnimatedViews.get(viewToAnimate.getId());
   }
 
   /**
@@ -119,6 +126,11 @@ public class LayoutAnimationController {
       return;
     }
 
+    if (ReactFeatureFlags.enableLayoutAnimationPropertyAnimators
+        && applyLayoutUpdateWithPropertyAnimator(view, x, y, width, height)) {
+      return;
+    }
+
     // Determine which animation to use : if view is initially invisible, use create animation,
     // otherwise use update animation. This approach is easier than maintaining a list of tags
     // for recently created views.
@@ -160,6 +172,97 @@ public class LayoutAnimationController {
     }
   }
 
+  /**
+   * Animates a layout update without laying the view out on every frame: the view is laid out at
+   * its final frame right away, then scaled and translated so that it is drawn at its previous
+   * frame, and its property animator brings the transform back to identity. Transforms are only
+   * applied to the render node of the view, so the rest of the hierarchy is not measured nor laid
+   * out again while the animation runs. An update arriving during the animation starts a new one
+   * from the frame the view is drawn at.
+   *
+   * @return false if the update must be applied by an animation object instead: the view is being
+   *     created, or has a transform of its own that the animation would override.
+   */
+  private boolean applyLayoutUpdateWithPropertyAnimator(
+      View view, int x, int y, int width, int height) {
+    final int reactTag = view.getId();
+    boolean isAnimating = mPropertyAnimatedViews.get(reactTag);
+    if (!isAnimating && (view.getWidth() == 0 || view.getHeight() == 0 || hasTransform(view))) {
+      return false;
+    }
+
+    // The frame the view is drawn at, the transform is relative to its pivot.
+    float scaleX = view.getScaleX();
+    float scaleY = view.getScaleY();
+    float fromWidth = view.getWidth() * scaleX;
+    float fromHeight = view.getHeight() * scaleY;
+    float fromX = view.getLeft() + view.getTranslationX() + view.getPivotX() * (1 - scaleX);
+    float fromY = view.getTop() + view.getTranslationY() + view.getPivotY() * (1 - scaleY);
+    if (isAnimating) {
+      view.animate().cancel();
+    }
+
+    boolean frameChanged = fromX != x || fromY != y || fromWidth != width || fromHeight != height;
+    if (!frameChanged || width == 0 || height == 0 || !mLayoutUpdateAnimation.isValid()) {
+      if (!isAnimating) {
+        return false;
+      }
+      mPropertyAnimatedViews.delete(reactTag);
+      resetTransform(view);
+      view.layout(x, y, x + width, y + height);
+      return true;
+    }
+
+    view.layout(x, y, x + width, y + height);
+    scaleX = fromWidth / width;
+    scaleY = fromHeight / height;
+    view.setScaleX(scaleX);
+    view.setScaleY(scaleY);
+    view.setTranslationX(fromX - x - view.getPivotX() * (1 - scaleX));
+    view.setTranslationY(fromY - y - view.getPivotY() * (1 - scaleY));
+
+    ViewPropertyAnimator animator = view.animate();
+    mLayoutUpdateAnimation.configureAnimator(animator);
+    animator
+        .translationX(0)
+        .translationY(0)
+        .scaleX(1)
+        .scaleY(1)
+        .withEndAction(
+            new Runnable() {
+              @Override
+              public void run() {
+                mPropertyAnimatedViews.delete(reactTag);
+              }
+            });
+    mPropertyAnimatedViews.put(reactTag, true);
+
+    long animationDuration = animator.getDuration();
+    if (animationDuration > mMaxAnimationDuration) {
+      mMaxAnimationDuration = animationDuration;
+      scheduleCompletionCallback(animationDuration);
+    }
+    animator.start();
+    return true;
+  }
+
+  private static boolean hasTransform(View view) {
+    return view.getTranslationX() != 0
+        || view.getTranslationY() != 0
+        || view.getScaleX() != 1
+        || view.getScaleY() != 1
+        || view.getRotation() != 0
+        || view.getRotationX() != 0
+        || view.getRotationY() != 0;
+  }
+
+  private static void resetTransform(View view) {
+    view.setTranslationX(0);
+    view.setTranslationY(0);
+    view.setScaleX(1);
+    view.setScaleY(1);
+  }
+
   /**
    * Animate a view deletion using the layout animation configuration supplied during
    * initialization.
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.image;
+
+import android.net.Uri;
+
+/** Listener interface notified when an image was decoded at a smaller size than its own. */
+public interface ImageDownsampleListener {
+
+  /**
+   * Called when an image of {@code encodedWidth}x{@code encodedHeight} was decoded into a bitmap
+   * of {@code decodedWidth}x{@code decodedHeight} to fit its view, {@code bytesSaved} being the
+   * estimated memory saved compared to a full size decode.
+   */
+  void onImageDownsampled(
+      Uri uri,
+      int encodedWidth,
+      int encodedHeight,
+      int decodedWidth,
+      int decodedHeight,
+      long bytesSaved);
+}
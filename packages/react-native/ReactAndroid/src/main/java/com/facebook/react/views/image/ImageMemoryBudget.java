@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.image;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import androidx.annotation.Nullable;
+import com.facebook.react.bridge.MemoryPressureListener;
+import com.facebook.react.bridge.UiThreadUtil;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Accounts for the memory of the decoded bitmaps held by mounted {@link ReactImageView}s, per
+ * surface. When the bitmaps exceed the budget, or on memory pressure, the bitmaps of the views that
+ * are off-screen are released first, largest first. Released views load their image again (usually
+ * from the disk cache) once they are back on screen.
+ *
+ * <p>The budget is disabled by default, see {@link #setEnabled(boolean)}. All the methods must be
+ * called on the UI thread.
+ */
+public class ImageMemoryBudget implements ComponentCallbacks2, MemoryPressureListener {
+
+  private static final class ImageEntry {
+    final int surfaceId;
+    final long bytes;
+
+    ImageEntry(int surfaceId, long bytes) {
+      this.surfaceId = surfaceId;
+      this.bytes = bytes;
+    }
+  }
+
+  private static final Comparator<Map.Entry<ReactImageView, ImageEntry>> LARGEST_FIRST =
+      new Comparator<Map.Entry<ReactImageView, ImageEntry>>() {
+        @Override
+        public int compare(
+            Map.Entry<ReactImageView, ImageEntry> a, Map.Entry<ReactImageView, ImageEntry> b) {
+          return Long.compare(b.getValue().bytes, a.getValue().bytes);
+        }
+      };
+
+  private static @Nullable ImageMemoryBudget sInstance;
+  private static boolean sIsEnabled = false;
+
+  // Views are dropped by their view manager, but may also be garbage collected with their surface.
+  private final Map<ReactImageView, ImageEntry> mImages = new WeakHashMap<>();
+  private long mMaxBytes = Runtime.getRuntime().maxMemory() / 4;
+  private boolean mIsRegistered = false;
+
+  public static ImageMemoryBudget getInstance() {
+    if (sInstance == null) {
+      sInstance = new ImageMemoryBudget();
+    }
+    return sInstance;
+  }
+
+  private ImageMemoryBudget() {}
+
+  /**
+   * Enables the budget for the image views created from now on. Released images are loaded again,
+   * which shows their placeholder and fires their load events again, so this is opt-in.
+   */
+  public static void setEnabled(boolean enabled) {
+    sIsEnabled = enabled;
+  }
+
+  public static boolean isEnabled() {
+    return sIsEnabled;
+  }
+
+  /**
+   * Sets how much memory the bitmaps of mounted image views may use before the off-screen ones are
+   * released, a quarter of the maximum heap size by default.
+   */
+  public void setMaxBytes(long maxBytes) {
+    mMaxBytes = maxBytes;
+    trimToBudget();
+  }
+
+  /** Returns the memory used by the bitmaps of all the mounted image views. */
+  public long getTotalBytes() {
+    long bytes = 0;
+    for (ImageEntry entry : mImages.values()) {
+      bytes += entry.bytes;
+    }
+    return bytes;
+  }
+
+  /** Returns the memory used by the bitmaps of the image views mounted in a surface. */
+  public long getBytesForSurface(int surfaceId) {
+    long bytes = 0;
+    for (ImageEntry entry : mImages.values()) {
+      if (entry.surfaceId == surfaceId) {
+        bytes += entry.bytes;
+      }
+    }
+    return bytes;
+  }
+
+  /** Registers for the memory pressure events of the application, if not done yet. */
+  /* package */ void register(Context context) {
+    if (!mIsRegistered) {
+      context.getApplicationContext().registerComponentCallbacks(this);
+      mIsRegistered = true;
+    }
+  }
+
+  /* package */ void onImageSet(ReactImageView view, int surfaceId, long bytes) {
+    UiThreadUtil.assertOnUiThread();
+    mImages.put(view, new ImageEntry(surfaceId, bytes));
+    trimToBudget();
+  }
+
+  /* package */ void onImageReleased(ReactImageView view) {
+    UiThreadUtil.assertOnUiThread();
+    mImages.remove(view);
+  }
+
+  /** MemoryPressureListener method, also called directly for the events of the application. */
+  @Override
+  public void handleMemoryPressure(int level) {
+    UiThreadUtil.assertOnUiThread();
+    if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+      // The app is in the background and may be killed, every image is reloaded once shown again.
+      releaseImages(false, 0, getTotalBytes());
+    } else if (level == ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+      // Sent each time the app is hidden, releasing images would reload them once it is shown.
+      return;
+    } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_MODERATE) {
+      releaseImages(true, 0, getTotalBytes());
+    }
+  }
+
+  /** ComponentCallbacks2 method. */
+  @Override
+  public void onTrimMemory(int level) {
+    handleMemoryPressure(level);
+  }
+
+  /** ComponentCallbacks2 method. */
+  @Override
+  public void onConfigurationChanged(Configuration newConfig) {}
+
+  /** ComponentCallbacks2 method. */
+  @Override
+  public void onLowMemory() {
+    handleMemoryPressure(ComponentCallbacks2.TRIM_MEMORY_COMPLETE);
+  }
+
+  private void trimToBudget() {
+    long totalBytes = getTotalBytes();
+    if (totalBytes > mMaxBytes) {
+      releaseImages(true, mMaxBytes, totalBytes);
+    }
+  }
+
+  /** Releases the largest images until at most {@code targetBytes} are used. */
+  private void releaseImages(boolean offScreenOnly, long targetBytes, long totalBytes) {
+    List<Map.Entry<ReactImageView, ImageEntry>> entries = new ArrayList<>(mImages.entrySet());
+    Collections.sort(entries, LARGEST_FIRST);
+    for (Map.Entry<ReactImageView, ImageEntry> entry : entries) {
+      if (totalBytes <= targetBytes) {
+        return;
+      }
+      ReactImageView view = entry.getKey();
+      if (offScreenOnly && view.isOnScreen()) {
+        continue;
+      }
+      totalBytes -= entry.getValue().bytes;
+      // Calls back onImageReleased.
+      view.releaseImage();
+    }
+  }
+}
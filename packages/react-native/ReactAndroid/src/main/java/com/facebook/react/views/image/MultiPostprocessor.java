@@ -8,6 +8,7 @@
 package com.facebook.react.views.image;
 
 import android.graphics.Bitmap;
+import androidx.annotation.Nullable;
 import com.facebook.cache.common.CacheKey;
 import com.facebook.cache.common.MultiCacheKey;
 import com.facebook.common.references.CloseableReference;
@@ -49,10 +50,15 @@ public class MultiPostprocessor implements Postprocessor {
   }
 
   @Override
-  public CacheKey getPostprocessorCacheKey() {
+  public @Nullable CacheKey getPostprocessorCacheKey() {
     LinkedList<CacheKey> keys = new LinkedList<>();
     for (Postprocessor p : mPostprocessors) {
-      keys.push(p.getPostprocessorCacheKey());
+      CacheKey key = p.getPostprocessorCacheKey();
+      if (key == null) {
+        // The result can only be cached if every step can be.
+        return null;
+      }
+      keys.push(key);
     }
     return new MultiCacheKey(keys);
   }
@@ -106,10 +106,21 @@ public class ReactImageManager extends SimpleViewManager<ReactImageView> {
         mCallerContextFactory != null
             ? mCallerContextFactory.getOrCreateCallerContext(context.getModuleName(), null)
             : getCallerContext();
+    if (ImageMemoryBudget.isEnabled()) {
+      ImageMemoryBudget.getInstance().register(context);
+    }
     return new ReactImageView(
         context, getDraweeControllerBuilder(), mGlobalImageLoadListener, callerContext);
   }
 
+  @Override
+  public void onDropViewInstance(ReactImageView view) {
+    super.onDropViewInstance(view);
+    if (ImageMemoryBudget.isEnabled()) {
+      ImageMemoryBudget.getInstance().onImageReleased(view);
+    }
+  }
+
   @Override
   public String getName() {
     return REACT_CLASS;
@@ -230,6 +241,11 @@ public class ReactImageManager extends SimpleViewManager<ReactImageView> {
     view.setProgressiveRenderingEnabled(enabled);
   }
 
+  @ReactProp(name = "multiStageLoadingEnabled")
+  public void setMultiStageLoadingEnabled(ReactImageView view, boolean enabled) {
+    view.setMultiStageLoadingEnabled(enabled);
+  }
+
   @ReactProp(name = "fadeDuration")
   public void setFadeDuration(ReactImageView view, int durationMs) {
     view.setFadeDuration(durationMs);
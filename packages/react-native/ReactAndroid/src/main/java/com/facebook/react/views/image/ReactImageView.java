@@ -19,11 +19,18 @@ import android.graphics.Shader;
 import android.graphics.drawable.Animatable;
 import android.graphics.drawable.Drawable;
 import android.net.Uri;
+import android.view.ViewTreeObserver;
 import androidx.annotation.Nullable;
+import com.facebook.cache.common.CacheKey;
+import com.facebook.cache.common.SimpleCacheKey;
 import com.facebook.common.internal.Objects;
+import com.facebook.common.internal.Supplier;
 import com.facebook.common.references.CloseableReference;
 import com.facebook.common.util.UriUtil;
+import com.facebook.datasource.DataSource;
+import com.facebook.datasource.IncreasingQualityDataSourceSupplier;
 import com.facebook.drawee.controller.AbstractDraweeControllerBuilder;
+import com.facebook.drawee.controller.BaseControllerListener;
 import com.facebook.drawee.controller.ControllerListener;
 import com.facebook.drawee.controller.ForwardingControllerListener;
 import com.facebook.drawee.drawable.AutoRotateDrawable;
@@ -35,6 +42,9 @@ import com.facebook.drawee.generic.RoundingParams;
 import com.facebook.drawee.view.GenericDraweeView;
 import com.facebook.imagepipeline.bitmaps.PlatformBitmapFactory;
 import com.facebook.imagepipeline.common.ResizeOptions;
+import com.facebook.imagepipeline.core.ImagePipeline;
+import com.facebook.imagepipeline.core.ImagePipelineFactory;
+import com.facebook.imagepipeline.image.CloseableImage;
 import com.facebook.imagepipeline.image.ImageInfo;
 import com.facebook.imagepipeline.postprocessors.IterativeBoxBlurPostProcessor;
 import com.facebook.imagepipeline.request.BasePostprocessor;
@@ -56,9 +66,11 @@ import com.facebook.react.views.imagehelper.MultiSourceHelper;
 import com.facebook.react.views.imagehelper.MultiSourceHelper.MultiSourceResult;
 import com.facebook.react.views.imagehelper.ResourceDrawableIdHelper;
 import com.facebook.yoga.YogaConstants;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Wrapper class around Fresco's GenericDraweeView, enabling persisting props across multiple view
@@ -68,7 +80,43 @@ public class ReactImageView extends GenericDraweeView {
 
   public static final int REMOTE_IMAGE_FADE_DURATION_MS = 300;
 
+  // Decode sizes are rounded up to a multiple of this, so that views of slightly different sizes
+  // showing the same image request the same size and share its decoded bitmap in the memory cache.
+  private static final int DECODE_SIZE_STEP_PX = 64;
+
+  // Set by the image pipeline on decoded images, see DecodeProducer.
+  private static final String EXTRA_ENCODED_WIDTH = "encoded_width";
+  private static final String EXTRA_ENCODED_HEIGHT = "encoded_height";
+
   private static float[] sComputedCornerRadii = new float[4];
+  private static final Rect sVisibleRect = new Rect();
+
+  private static @Nullable ImageDownsampleListener sDownsampleListener;
+  private static boolean sReducedResolutionBlurEnabled = false;
+  private static boolean sAutoResizeToViewEnabled = false;
+
+  /** Sets a listener notified when an image was decoded at a smaller size than its own. */
+  public static void setDownsampleListener(@Nullable ImageDownsampleListener listener) {
+    sDownsampleListener = listener;
+  }
+
+  /**
+   * When enabled, {@code resizeMethod="auto"} resizes every image that isn't tiled to the size of
+   * its view, rather than only local images. Without downsampling in the image pipeline config
+   * only JPEGs are resized, by transcoding. With downsampling, the pipeline decodes with a power of
+   * two sample size that may be rounded up, so an image may be decoded smaller than its view.
+   */
+  public static void setAutoResizeToViewEnabled(boolean enabled) {
+    sAutoResizeToViewEnabled = enabled;
+  }
+
+  /**
+   * When enabled, images with a {@code blurRadius} are blurred after being downscaled, then scaled
+   * back up to their size, which is much cheaper for large radii and looks the same.
+   */
+  public static void setReducedResolutionBlurEnabled(boolean enabled) {
+    sReducedResolutionBlurEnabled = enabled;
+  }
 
   private ImageResizeMethod mResizeMethod = ImageResizeMethod.AUTO;
 
@@ -80,23 +128,41 @@ public class ReactImageView extends GenericDraweeView {
   }
 
   // Fresco lacks support for repeating images, see https://github.com/facebook/fresco/issues/1575
-  // We implement it here as a postprocessing step.
-  private static final Matrix sTileMatrix = new Matrix();
+  // We implement it here as a postprocessing step. Its parameters are captured when the request is
+  // built, so that the result is cached by the pipeline like any other postprocessed image.
+  private static class TilePostprocessor extends BasePostprocessor {
+    private final int mWidth;
+    private final int mHeight;
+    private final ScalingUtils.ScaleType mScaleType;
+    private final Shader.TileMode mTileMode;
+    private final CacheKey mCacheKey;
+
+    TilePostprocessor(
+        int width, int height, ScalingUtils.ScaleType scaleType, Shader.TileMode tileMode) {
+      mWidth = width;
+      mHeight = height;
+      mScaleType = scaleType;
+      mTileMode = tileMode;
+      mCacheKey =
+          new SimpleCacheKey(
+              "tile-" + width + "x" + height + "-" + scaleType + "-" + tileMode);
+    }
 
-  private class TilePostprocessor extends BasePostprocessor {
     @Override
     public CloseableReference<Bitmap> process(Bitmap source, PlatformBitmapFactory bitmapFactory) {
-      final Rect destRect = new Rect(0, 0, getWidth(), getHeight());
+      final Rect destRect = new Rect(0, 0, mWidth, mHeight);
+      // Postprocessors of different requests run concurrently.
+      Matrix tileMatrix = new Matrix();
       mScaleType.getTransform(
-          sTileMatrix, destRect, source.getWidth(), source.getHeight(), 0.0f, 0.0f);
+          tileMatrix, destRect, source.getWidth(), source.getHeight(), 0.0f, 0.0f);
 
       Paint paint = new Paint();
       paint.setAntiAlias(true);
       Shader shader = new BitmapShader(source, mTileMode, mTileMode);
-      shader.setLocalMatrix(sTileMatrix);
+      shader.setLocalMatrix(tileMatrix);
       paint.setShader(shader);
 
-      CloseableReference<Bitmap> output = bitmapFactory.createBitmap(getWidth(), getHeight());
+      CloseableReference<Bitmap> output = bitmapFactory.createBitmap(mWidth, mHeight);
       try {
         Canvas canvas = new Canvas(output.get());
         canvas.drawRect(destRect, paint);
@@ -105,6 +171,11 @@ public class ReactImageView extends GenericDraweeView {
         CloseableReference.closeSafely(output);
       }
     }
+
+    @Override
+    public CacheKey getPostprocessorCacheKey() {
+      return mCacheKey;
+    }
   }
 
   private final List<ImageSource> mSources = new LinkedList<>();
@@ -124,14 +195,45 @@ public class ReactImageView extends GenericDraweeView {
   private Shader.TileMode mTileMode = ImageResizeMode.defaultTileMode();
   private boolean mIsDirty;
   private final AbstractDraweeControllerBuilder mDraweeControllerBuilder;
-  private @Nullable TilePostprocessor mTilePostprocessor;
-  private @Nullable IterativeBoxBlurPostProcessor mIterativeBoxBlurPostProcessor;
+  private @Nullable Postprocessor mBlurPostprocessor;
   private @Nullable ReactImageDownloadListener mDownloadListener;
   private @Nullable ControllerListener mControllerForTesting;
   private @Nullable GlobalImageLoadListener mGlobalImageLoadListener;
   private @Nullable Object mCallerContext;
+  private @Nullable ResizeOptions mResizeOptions;
+  // Whether the image was released to stay within the ImageMemoryBudget.
+  private boolean mIsImageReleased;
+  private @Nullable ViewTreeObserver.OnPreDrawListener mRestoreImageListener;
+  private final ControllerListener<ImageInfo> mMemoryBudgetListener =
+      new BaseControllerListener<ImageInfo>() {
+        @Override
+        public void onFinalImageSet(
+            String id, @Nullable ImageInfo imageInfo, @Nullable Animatable animatable) {
+          if (imageInfo == null) {
+            return;
+          }
+          long bytes =
+              imageInfo instanceof CloseableImage
+                  ? ((CloseableImage) imageInfo).getSizeInBytes()
+                  : (long) imageInfo.getWidth() * imageInfo.getHeight() * 4;
+          ImageMemoryBudget.getInstance()
+              .onImageSet(
+                  ReactImageView.this, UIManagerHelper.getSurfaceId(ReactImageView.this), bytes);
+        }
+
+        @Override
+        public void onFailure(String id, Throwable throwable) {
+          ImageMemoryBudget.getInstance().onImageReleased(ReactImageView.this);
+        }
+
+        @Override
+        public void onRelease(String id) {
+          ImageMemoryBudget.getInstance().onImageReleased(ReactImageView.this);
+        }
+      };
   private int mFadeDurationMs = -1;
   private boolean mProgressiveRenderingEnabled;
+  private boolean mMultiStageLoadingEnabled;
   private ReadableMap mHeaders;
 
   // We can't specify rounding in XML, so have to do so here
@@ -196,8 +298,8 @@ public class ReactImageView extends GenericDraweeView {
                         UIManagerHelper.getSurfaceId(ReactImageView.this),
                         getId(),
                         mImageSource.getSource(),
-                        imageInfo.getWidth(),
-                        imageInfo.getHeight()));
+                        getEncodedSize(imageInfo, EXTRA_ENCODED_WIDTH, imageInfo.getWidth()),
+                        getEncodedSize(imageInfo, EXTRA_ENCODED_HEIGHT, imageInfo.getHeight())));
                 mEventDispatcher.dispatchEvent(
                     ImageLoadEvent.createLoadEndEvent(
                         UIManagerHelper.getSurfaceId(ReactImageView.this), getId()));
@@ -220,9 +322,11 @@ public class ReactImageView extends GenericDraweeView {
     // Divide `blurRadius` by 2 to more closely match other platforms.
     int pixelBlurRadius = (int) PixelUtil.toPixelFromDIP(blurRadius) / 2;
     if (pixelBlurRadius == 0) {
-      mIterativeBoxBlurPostProcessor = null;
+      mBlurPostprocessor = null;
+    } else if (sReducedResolutionBlurEnabled) {
+      mBlurPostprocessor = new ReducedResolutionBlurPostprocessor(2, pixelBlurRadius);
     } else {
-      mIterativeBoxBlurPostProcessor = new IterativeBoxBlurPostProcessor(2, pixelBlurRadius);
+      mBlurPostprocessor = new IterativeBoxBlurPostProcessor(2, pixelBlurRadius);
     }
     mIsDirty = true;
   }
@@ -287,11 +391,6 @@ public class ReactImageView extends GenericDraweeView {
   public void setTileMode(Shader.TileMode tileMode) {
     if (mTileMode != tileMode) {
       mTileMode = tileMode;
-      if (isTiled()) {
-        mTilePostprocessor = new TilePostprocessor();
-      } else {
-        mTilePostprocessor = null;
-      }
       mIsDirty = true;
     }
   }
@@ -371,6 +470,13 @@ public class ReactImageView extends GenericDraweeView {
     // no worth marking as dirty if it already rendered..
   }
 
+  public void setMultiStageLoadingEnabled(boolean enabled) {
+    if (mMultiStageLoadingEnabled != enabled) {
+      mMultiStageLoadingEnabled = enabled;
+      mIsDirty = true;
+    }
+  }
+
   public void setFadeDuration(int durationMs) {
     mFadeDurationMs = durationMs;
     // no worth marking as dirty if it already rendered..
@@ -466,15 +572,19 @@ public class ReactImageView extends GenericDraweeView {
             : mImageSource.isResource() ? 0 : REMOTE_IMAGE_FADE_DURATION_MS);
 
     List<Postprocessor> postprocessors = new LinkedList<>();
-    if (mIterativeBoxBlurPostProcessor != null) {
-      postprocessors.add(mIterativeBoxBlurPostProcessor);
+    if (mBlurPostprocessor != null) {
+      postprocessors.add(mBlurPostprocessor);
     }
-    if (mTilePostprocessor != null) {
-      postprocessors.add(mTilePostprocessor);
+    if (isTiled()) {
+      postprocessors.add(new TilePostprocessor(getWidth(), getHeight(), mScaleType, mTileMode));
     }
     Postprocessor postprocessor = MultiPostprocessor.from(postprocessors);
 
-    ResizeOptions resizeOptions = doResize ? new ResizeOptions(getWidth(), getHeight()) : null;
+    ResizeOptions resizeOptions =
+        doResize
+            ? new ResizeOptions(roundUpDecodeSize(getWidth()), roundUpDecodeSize(getHeight()))
+            : null;
+    mResizeOptions = resizeOptions;
 
     ImageRequestBuilder imageRequestBuilder =
         ImageRequestBuilder.newBuilderWithSource(mImageSource.getUri())
@@ -499,7 +609,9 @@ public class ReactImageView extends GenericDraweeView {
         .setOldController(getController())
         .setImageRequest(imageRequest);
 
-    if (mCachedImageSource != null) {
+    if (mMultiStageLoadingEnabled && hasMultipleSources()) {
+      setMultiStageDataSourceSupplier(imageRequest, postprocessor, resizeOptions);
+    } else if (mCachedImageSource != null) {
       ImageRequest cachedImageRequest =
           ImageRequestBuilder.newBuilderWithSource(mCachedImageSource.getUri())
               .setPostprocessor(postprocessor)
@@ -510,15 +622,31 @@ public class ReactImageView extends GenericDraweeView {
       mDraweeControllerBuilder.setLowResImageRequest(cachedImageRequest);
     }
 
-    if (mDownloadListener != null && mControllerForTesting != null) {
+    ControllerListener downsampleListener =
+        resizeOptions != null && sDownsampleListener != null
+            ? createDownsampleControllerListener(mImageSource.getUri())
+            : null;
+    List<ControllerListener> controllerListeners = new LinkedList<>();
+    if (ImageMemoryBudget.isEnabled()) {
+      controllerListeners.add(mMemoryBudgetListener);
+    }
+    if (mDownloadListener != null) {
+      controllerListeners.add(mDownloadListener);
+    }
+    if (mControllerForTesting != null) {
+      controllerListeners.add(mControllerForTesting);
+    }
+    if (downsampleListener != null) {
+      controllerListeners.add(downsampleListener);
+    }
+    if (controllerListeners.size() > 1) {
       ForwardingControllerListener combinedListener = new ForwardingControllerListener();
-      combinedListener.addListener(mDownloadListener);
-      combinedListener.addListener(mControllerForTesting);
+      for (ControllerListener controllerListener : controllerListeners) {
+        combinedListener.addListener(controllerListener);
+      }
       mDraweeControllerBuilder.setControllerListener(combinedListener);
-    } else if (mControllerForTesting != null) {
-      mDraweeControllerBuilder.setControllerListener(mControllerForTesting);
-    } else if (mDownloadListener != null) {
-      mDraweeControllerBuilder.setControllerListener(mDownloadListener);
+    } else if (controllerListeners.size() == 1) {
+      mDraweeControllerBuilder.setControllerListener(controllerListeners.get(0));
     }
 
     if (mDownloadListener != null) {
@@ -527,12 +655,54 @@ public class ReactImageView extends GenericDraweeView {
 
     setController(mDraweeControllerBuilder.build());
     mIsDirty = false;
+    mIsImageReleased = false;
+    removeRestoreImageListener();
 
     // Reset again so the DraweeControllerBuilder clears all it's references. Otherwise, this causes
     // a memory leak.
     mDraweeControllerBuilder.reset();
   }
 
+  /**
+   * Loads all the sources up to the best one for the view's size at once, displaying each of them
+   * as it arrives until a better one does, at which point the lower resolution requests are
+   * cancelled. The smallest sources arrive first on slow networks, and cached ones immediately.
+   */
+  private void setMultiStageDataSourceSupplier(
+      ImageRequest imageRequest,
+      @Nullable Postprocessor postprocessor,
+      @Nullable ResizeOptions resizeOptions) {
+    List<ImageSource> stageSources =
+        MultiSourceHelper.getSourcesForProgressiveLoading(getWidth(), getHeight(), mSources);
+    if (stageSources.size() <= 1) {
+      return;
+    }
+    ImagePipeline imagePipeline = ImagePipelineFactory.getInstance().getImagePipeline();
+    List<Supplier<DataSource<CloseableReference<CloseableImage>>>> dataSourceSuppliers =
+        new ArrayList<>();
+    // IncreasingQualityDataSourceSupplier expects the stages by decreasing quality, the best source
+    // for the view's size (mImageSource) may come after a larger cached source.
+    for (ImageSource stageSource : stageSources) {
+      ImageRequest stageRequest;
+      if (stageSource.equals(mImageSource)) {
+        stageRequest = imageRequest;
+      } else {
+        ImageRequestBuilder stageRequestBuilder =
+            ImageRequestBuilder.newBuilderWithSource(stageSource.getUri())
+                .setPostprocessor(postprocessor)
+                .setResizeOptions(resizeOptions)
+                .setAutoRotateEnabled(true);
+        stageRequest =
+            ReactNetworkImageRequest.fromBuilderWithHeaders(stageRequestBuilder, mHeaders);
+      }
+      dataSourceSuppliers.add(
+          imagePipeline.getDataSourceSupplier(
+              stageRequest, mCallerContext, ImageRequest.RequestLevel.FULL_FETCH));
+    }
+    mDraweeControllerBuilder.setDataSourceSupplier(
+        IncreasingQualityDataSourceSupplier.create(dataSourceSuppliers));
+  }
+
   // VisibleForTesting
   public void setControllerListener(ControllerListener controllerListener) {
     mControllerForTesting = controllerListener;
@@ -549,11 +719,115 @@ public class ReactImageView extends GenericDraweeView {
   protected void onSizeChanged(int w, int h, int oldw, int oldh) {
     super.onSizeChanged(w, h, oldw, oldh);
     if (w > 0 && h > 0) {
-      mIsDirty = mIsDirty || hasMultipleSources() || isTiled();
+      mIsDirty = mIsDirty || hasMultipleSources() || isTiled() || needsLargerDecode(w, h);
       maybeUpdateView();
     }
   }
 
+  /**
+   * Whether the image was decoded for a smaller view, and would now look blurry. Shrinking views
+   * keep their bitmap, so that animating the size of a view doesn't request a new image per frame.
+   */
+  private boolean needsLargerDecode(int width, int height) {
+    return mResizeOptions != null
+        && (roundUpDecodeSize(width) > mResizeOptions.width
+            || roundUpDecodeSize(height) > mResizeOptions.height);
+  }
+
+  private static int roundUpDecodeSize(int size) {
+    return (size + DECODE_SIZE_STEP_PX - 1) / DECODE_SIZE_STEP_PX * DECODE_SIZE_STEP_PX;
+  }
+
+  private static int getEncodedSize(ImageInfo imageInfo, String key, int defaultSize) {
+    Map<String, Object> extras = imageInfo.getExtras();
+    Object size = extras != null ? extras.get(key) : null;
+    return size instanceof Integer ? (Integer) size : defaultSize;
+  }
+
+  private static ControllerListener createDownsampleControllerListener(final Uri uri) {
+    return new BaseControllerListener<ImageInfo>() {
+      @Override
+      public void onFinalImageSet(
+          String id, @Nullable ImageInfo imageInfo, @Nullable Animatable animatable) {
+        ImageDownsampleListener listener = sDownsampleListener;
+        if (listener == null || imageInfo == null) {
+          return;
+        }
+        int decodedWidth = imageInfo.getWidth();
+        int decodedHeight = imageInfo.getHeight();
+        int encodedWidth = getEncodedSize(imageInfo, EXTRA_ENCODED_WIDTH, decodedWidth);
+        int encodedHeight = getEncodedSize(imageInfo, EXTRA_ENCODED_HEIGHT, decodedHeight);
+        long savedPixels =
+            (long) encodedWidth * encodedHeight - (long) decodedWidth * decodedHeight;
+        if (savedPixels > 0) {
+          // Decoded as ARGB_8888.
+          listener.onImageDownsampled(
+              uri, encodedWidth, encodedHeight, decodedWidth, decodedHeight, savedPixels * 4);
+        }
+      }
+    };
+  }
+
+  @Override
+  protected void onAttachedToWindow() {
+    super.onAttachedToWindow();
+    if (mIsImageReleased) {
+      addRestoreImageListener();
+    }
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    removeRestoreImageListener();
+    super.onDetachedFromWindow();
+  }
+
+  /** Whether any part of this view is currently visible on screen. */
+  /* package */ boolean isOnScreen() {
+    return isAttachedToWindow() && isShown() && getGlobalVisibleRect(sVisibleRect);
+  }
+
+  /**
+   * Releases the decoded image, which the image pipeline may then evict from its memory cache. The
+   * image is requested again once this view is back on screen.
+   */
+  /* package */ void releaseImage() {
+    if (mIsImageReleased) {
+      return;
+    }
+    mIsImageReleased = true;
+    ImageMemoryBudget.getInstance().onImageReleased(this);
+    setController(null);
+    mIsDirty = true;
+    if (isAttachedToWindow()) {
+      addRestoreImageListener();
+    }
+  }
+
+  private void addRestoreImageListener() {
+    if (mRestoreImageListener != null) {
+      return;
+    }
+    mRestoreImageListener =
+        new ViewTreeObserver.OnPreDrawListener() {
+          @Override
+          public boolean onPreDraw() {
+            if (isOnScreen()) {
+              maybeUpdateView();
+            }
+            return true;
+          }
+        };
+    getViewTreeObserver().addOnPreDrawListener(mRestoreImageListener);
+  }
+
+  private void removeRestoreImageListener() {
+    if (mRestoreImageListener != null) {
+      getViewTreeObserver().removeOnPreDrawListener(mRestoreImageListener);
+      mRestoreImageListener = null;
+    }
+  }
+
   /** ReactImageViews only render a single image. */
   @Override
   public boolean hasOverlappingRendering() {
@@ -586,9 +860,11 @@ public class ReactImageView extends GenericDraweeView {
   private boolean shouldResize(ImageSource imageSource) {
     // Resizing is inferior to scaling. See http://frescolib.org/docs/resizing-rotating.html#_
     // We resize here only for images likely to be from the device's camera, where the app developer
-    // has no control over the original size
+    // has no control over the original size, unless resizing to the view is enabled. Tiled images
+    // are drawn at their own size, so they are only resized when they are local.
     if (mResizeMethod == ImageResizeMethod.AUTO) {
-      return UriUtil.isLocalContentUri(imageSource.getUri())
+      return (sAutoResizeToViewEnabled && !isTiled())
+          || UriUtil.isLocalContentUri(imageSource.getUri())
           || UriUtil.isLocalFileUri(imageSource.getUri());
     } else if (mResizeMethod == ImageResizeMethod.RESIZE) {
       return true;
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.image;
+
+import android.graphics.Bitmap;
+import com.facebook.cache.common.CacheKey;
+import com.facebook.cache.common.SimpleCacheKey;
+import com.facebook.common.references.CloseableReference;
+import com.facebook.imagepipeline.bitmaps.PlatformBitmapFactory;
+import com.facebook.imagepipeline.nativecode.NativeBlurFilter;
+import com.facebook.imagepipeline.request.BasePostprocessor;
+import java.util.Locale;
+
+/**
+ * Blurs an image at a fraction of its resolution, then scales it back up to its size. A blur
+ * removes the details a downscale would lose anyway, so the result looks the same as a full
+ * resolution blur for a fraction of the processing time. Keeping the size of the source leaves
+ * the resize modes that depend on it ("center", "repeat") unaffected.
+ */
+/* package */ class ReducedResolutionBlurPostprocessor extends BasePostprocessor {
+
+  // The radius the blur is run with once the image is downscaled, larger radii are downscaled more.
+  private static final int REDUCED_BLUR_RADIUS = 8;
+  private static final int MAX_DOWNSCALE_FACTOR = 8;
+
+  private final int mIterations;
+  private final int mBlurRadius;
+  private final int mDownscaleFactor;
+  private final CacheKey mCacheKey;
+
+  ReducedResolutionBlurPostprocessor(int iterations, int blurRadius) {
+    mIterations = iterations;
+    mDownscaleFactor =
+        Math.max(1, Math.min(MAX_DOWNSCALE_FACTOR, blurRadius / REDUCED_BLUR_RADIUS));
+    mBlurRadius = Math.max(1, blurRadius / mDownscaleFactor);
+    mCacheKey =
+        new SimpleCacheKey(
+            String.format(
+                (Locale) null, "rr-i%dr%df%d", mIterations, mBlurRadius, mDownscaleFactor));
+  }
+
+  @Override
+  public CloseableReference<Bitmap> process(
+      Bitmap sourceBitmap, PlatformBitmapFactory bitmapFactory) {
+    CloseableReference<Bitmap> reduced =
+        bitmapFactory.createScaledBitmap(
+            sourceBitmap,
+            Math.max(1, sourceBitmap.getWidth() / mDownscaleFactor),
+            Math.max(1, sourceBitmap.getHeight() / mDownscaleFactor),
+            true);
+    try {
+      NativeBlurFilter.iterativeBoxBlur(reduced.get(), mIterations, mBlurRadius);
+      return bitmapFactory.createScaledBitmap(
+          reduced.get(), sourceBitmap.getWidth(), sourceBitmap.getHeight(), true);
+    } finally {
+      CloseableReference.closeSafely(reduced);
+    }
+  }
+
+  @Override
+  public String getName() {
+    return "ReducedResolutionBlurPostprocessor";
+  }
+
+  @Override
+  public CacheKey getPostprocessorCacheKey() {
+    return mCacheKey;
+  }
+}
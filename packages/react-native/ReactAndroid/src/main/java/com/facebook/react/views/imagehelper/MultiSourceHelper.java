@@ -10,6 +10,9 @@ package com.facebook.react.views.imagehelper;
 import androidx.annotation.Nullable;
 import com.facebook.imagepipeline.core.ImagePipeline;
 import com.facebook.imagepipeline.core.ImagePipelineFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 /** Helper class for dealing with multisource images. */
@@ -43,6 +46,46 @@ public class MultiSourceHelper {
     }
   }
 
+  private static final Comparator<ImageSource> LARGEST_FIRST =
+      new Comparator<ImageSource>() {
+        @Override
+        public int compare(ImageSource a, ImageSource b) {
+          return Double.compare(b.getSize(), a.getSize());
+        }
+      };
+
+  /**
+   * Chooses the image sources to load in stages, from the best source for the view's size down to
+   * the lowest resolution, so that they can be displayed as they arrive and superseded by better
+   * ones. A cached source larger than the best one comes first, as it can be displayed immediately
+   * and makes the other stages useless.
+   *
+   * @return the sources ordered by decreasing quality, empty if the view hasn't been measured yet
+   */
+  public static List<ImageSource> getSourcesForProgressiveLoading(
+      int width, int height, List<ImageSource> sources) {
+    MultiSourceResult multiSource = getBestSourceForSize(width, height, sources);
+    ImageSource best = multiSource.getBestResult();
+    List<ImageSource> stages = new ArrayList<>();
+    if (best == null) {
+      return stages;
+    }
+    ImageSource bestCached = multiSource.getBestResultInCache();
+    if (bestCached != null && bestCached.getSize() > best.getSize()) {
+      stages.add(bestCached);
+    }
+    stages.add(best);
+    List<ImageSource> smallerSources = new ArrayList<>();
+    for (ImageSource source : sources) {
+      if (source.getSize() < best.getSize()) {
+        smallerSources.add(source);
+      }
+    }
+    Collections.sort(smallerSources, LARGEST_FIRST);
+    stages.addAll(smallerSources);
+    return stages;
+  }
+
   public static MultiSourceResult getBestSourceForSize(
       int width, int height, List<ImageSource> sources) {
     return getBestSourceForSize(width, height, sources, 1.0d);
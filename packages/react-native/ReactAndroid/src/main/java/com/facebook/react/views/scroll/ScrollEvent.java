@@ -15,6 +15,7 @@ import com.facebook.react.bridge.ReactSoftExceptionLogger;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.uimanager.PixelUtil;
 import com.facebook.react.uimanager.events.Event;
+import java.util.List;
 
 /** A event dispatched from a ScrollView scrolling. */
 public class ScrollEvent extends Event<ScrollEvent> {
@@ -141,6 +142,37 @@ public class ScrollEvent extends Event<ScrollEvent> {
     return false;
   }
 
+  @Override
+  public boolean getAnimatedEventValue(List<String> eventPath, double[] outValue) {
+    if (eventPath.size() != 2) {
+      return false;
+    }
+    String key = eventPath.get(0);
+    String field = eventPath.get(1);
+    double value;
+    if ("contentOffset".equals(key) && "x".equals(field)) {
+      value = PixelUtil.toDIPFromPixel(mScrollX);
+    } else if ("contentOffset".equals(key) && "y".equals(field)) {
+      value = PixelUtil.toDIPFromPixel(mScrollY);
+    } else if ("velocity".equals(key) && "x".equals(field)) {
+      value = mXVelocity;
+    } else if ("velocity".equals(key) && "y".equals(field)) {
+      value = mYVelocity;
+    } else if ("contentSize".equals(key) && "width".equals(field)) {
+      value = PixelUtil.toDIPFromPixel(mContentWidth);
+    } else if ("contentSize".equals(key) && "height".equals(field)) {
+      value = PixelUtil.toDIPFromPixel(mContentHeight);
+    } else if ("layoutMeasurement".equals(key) && "width".equals(field)) {
+      value = PixelUtil.toDIPFromPixel(mScrollViewWidth);
+    } else if ("layoutMeasurement".equals(key) && "height".equals(field)) {
+      value = PixelUtil.toDIPFromPixel(mScrollViewHeight);
+    } else {
+      return false;
+    }
+    outValue[0] = value;
+    return true;
+  }
+
   @Nullable
   @Override
   protected WritableMap getEventData() {
@@ -75,6 +75,10 @@ public class CustomStyleSpan extends MetricAffectingSpan implements ReactSpan {
     return mFeatureSettings;
   }
 
+  /* package */ CustomStyleSpan copy() {
+    return new CustomStyleSpan(mStyle, mWeight, mFeatureSettings, mFontFamily, mAssetManager);
+  }
+
   private static void apply(
       Paint paint,
       int style,
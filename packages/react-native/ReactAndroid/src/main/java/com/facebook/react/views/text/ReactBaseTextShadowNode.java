@@ -33,10 +33,13 @@ import com.facebook.yoga.YogaDirection;
 import com.facebook.yoga.YogaUnit;
 import com.facebook.yoga.YogaValue;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * {@link ReactShadowNode} abstract class for spannable text nodes.
@@ -69,10 +72,44 @@ public abstract class ReactBaseTextShadowNode extends LayoutShadowNode {
 
   protected @Nullable ReactTextViewManagerCallback mReactTextViewManagerCallback;
 
+  /**
+   * Tracks the interned spans (see {@link ReactSpanCache}) used while building a single spannable.
+   *
+   * <p>Adjacent fragments carrying the same interned span are merged into a single operation. This
+   * is only done when the previous operation is the latest one of the same span type, so that no
+   * nested span of that type ends up with a lower priority than the merged one. Since a span
+   * instance can only be attached once to a {@link Spannable}, an interned span that is already in
+   * use and can't be merged is replaced by a fresh copy.
+   */
+  private static final class InternedSpanTracker {
+    private final Map<Class<?>, SetSpanOperation> mLastOperationByType = new HashMap<>();
+    private final Map<Class<?>, ReactSpan> mLastInternedSpanByType = new HashMap<>();
+    private final Set<ReactSpan> mUsedSpans =
+        Collections.newSetFromMap(new IdentityHashMap<ReactSpan, Boolean>());
+
+    void add(List<SetSpanOperation> ops, int start, int end, ReactSpan internedSpan) {
+      Class<?> type = internedSpan.getClass();
+      SetSpanOperation previous = mLastOperationByType.get(type);
+      if (previous != null
+          && previous.end == start
+          && mLastInternedSpanByType.get(type) == internedSpan) {
+        previous.end = end;
+        return;
+      }
+      ReactSpan span =
+          mUsedSpans.add(internedSpan) ? internedSpan : ReactSpanCache.copyOf(internedSpan);
+      SetSpanOperation op = new SetSpanOperation(start, end, span);
+      mLastOperationByType.put(type, op);
+      mLastInternedSpanByType.put(type, internedSpan);
+      ops.add(op);
+    }
+  }
+
   private static void buildSpannedFromShadowNode(
       ReactBaseTextShadowNode textShadowNode,
       SpannableStringBuilder sb,
       List<SetSpanOperation> ops,
+      InternedSpanTracker internedSpans,
       TextAttributes parentTextAttributes,
       boolean supportsInlineViews,
       Map<Integer, ReactShadowNode> inlineViews,
@@ -97,6 +134,7 @@ public abstract class ReactBaseTextShadowNode extends LayoutShadowNode {
             (ReactBaseTextShadowNode) child,
             sb,
             ops,
+            internedSpans,
             textAttributes,
             supportsInlineViews,
             inlineViews,
@@ -147,8 +185,8 @@ public abstract class ReactBaseTextShadowNode extends LayoutShadowNode {
     int end = sb.length();
     if (end >= start) {
       if (textShadowNode.mIsColorSet) {
-        ops.add(
-            new SetSpanOperation(start, end, new ReactForegroundColorSpan(textShadowNode.mColor)));
+        internedSpans.add(
+            ops, start, end, ReactSpanCache.getForegroundColorSpan(textShadowNode.mColor));
       }
       if (textShadowNode.mIsBackgroundColorSet) {
         ops.add(
@@ -171,21 +209,21 @@ public abstract class ReactBaseTextShadowNode extends LayoutShadowNode {
       // `Float.NaN`.
       parentTextAttributes == null
           || parentTextAttributes.getEffectiveFontSize() != effectiveFontSize) {
-        ops.add(new SetSpanOperation(start, end, new ReactAbsoluteSizeSpan(effectiveFontSize)));
+        internedSpans.add(ops, start, end, ReactSpanCache.getAbsoluteSizeSpan(effectiveFontSize));
       }
       if (textShadowNode.mFontStyle != UNSET
           || textShadowNode.mFontWeight != UNSET
           || textShadowNode.mFontFamily != null) {
-        ops.add(
-            new SetSpanOperation(
-                start,
-                end,
-                new CustomStyleSpan(
-                    textShadowNode.mFontStyle,
-                    textShadowNode.mFontWeight,
-                    textShadowNode.mFontFeatureSettings,
-                    textShadowNode.mFontFamily,
-                    textShadowNode.getThemedContext().getAssets())));
+        internedSpans.add(
+            ops,
+            start,
+            end,
+            ReactSpanCache.getCustomStyleSpan(
+                textShadowNode.mFontStyle,
+                textShadowNode.mFontWeight,
+                textShadowNode.mFontFeatureSettings,
+                textShadowNode.mFontFamily,
+                textShadowNode.getThemedContext().getAssets()));
       }
       if (textShadowNode.mIsUnderlineTextDecorationSet) {
         ops.add(new SetSpanOperation(start, end, new ReactUnderlineSpan()));
@@ -243,7 +281,15 @@ public abstract class ReactBaseTextShadowNode extends LayoutShadowNode {
       sb.append(TextTransform.apply(text, textShadowNode.mTextAttributes.getTextTransform()));
     }
 
-    buildSpannedFromShadowNode(textShadowNode, sb, ops, null, supportsInlineViews, inlineViews, 0);
+    buildSpannedFromShadowNode(
+        textShadowNode,
+        sb,
+        ops,
+        new InternedSpanTracker(),
+        null,
+        supportsInlineViews,
+        inlineViews,
+        0);
 
     textShadowNode.mContainsImages = false;
     textShadowNode.mInlineViews = inlineViews;
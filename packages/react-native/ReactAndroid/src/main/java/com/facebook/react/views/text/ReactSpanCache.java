@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) Meta Platforms, Inc. and affiliates.
+ *
+ * This source code is licensed under the MIT license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+package com.facebook.react.views.text;
+
+import android.content.res.AssetManager;
+import android.util.LruCache;
+import androidx.annotation.Nullable;
+import java.util.Objects;
+
+/**
+ * Interns immutable {@link ReactSpan}s by their attributes, so that text nodes sharing the same
+ * color, size or font style reuse one span instance across spannable rebuilds instead of allocating
+ * a new one per fragment.
+ *
+ * <p>A span instance can only be attached once to a given {@link android.text.Spannable}, so
+ * callers must use {@link #copyOf(ReactSpan)} when the interned instance is already in use in the
+ * text being built.
+ */
+/* package */ class ReactSpanCache {
+
+  private static final int CACHE_SIZE = 64;
+
+  private static final LruCache<Integer, ReactForegroundColorSpan> sForegroundColorSpans =
+      new LruCache<>(CACHE_SIZE);
+  private static final LruCache<Integer, ReactAbsoluteSizeSpan> sAbsoluteSizeSpans =
+      new LruCache<>(CACHE_SIZE);
+  private static final LruCache<StyleKey, CustomStyleSpan> sCustomStyleSpans =
+      new LruCache<>(CACHE_SIZE);
+
+  private ReactSpanCache() {}
+
+  public static ReactForegroundColorSpan getForegroundColorSpan(int color) {
+    ReactForegroundColorSpan span = sForegroundColorSpans.get(color);
+    if (span == null) {
+      span = new ReactForegroundColorSpan(color);
+      sForegroundColorSpans.put(color, span);
+    }
+    return span;
+  }
+
+  public static ReactAbsoluteSizeSpan getAbsoluteSizeSpan(int size) {
+    ReactAbsoluteSizeSpan span = sAbsoluteSizeSpans.get(size);
+    if (span == null) {
+      span = new ReactAbsoluteSizeSpan(size);
+      sAbsoluteSizeSpans.put(size, span);
+    }
+    return span;
+  }
+
+  public static CustomStyleSpan getCustomStyleSpan(
+      int fontStyle,
+      int fontWeight,
+      @Nullable String fontFeatureSettings,
+      @Nullable String fontFamily,
+      AssetManager assetManager) {
+    StyleKey key =
+        new StyleKey(fontStyle, fontWeight, fontFeatureSettings, fontFamily, assetManager);
+    CustomStyleSpan span = sCustomStyleSpans.get(key);
+    if (span == null) {
+      span =
+          new CustomStyleSpan(
+              fontStyle, fontWeight, fontFeatureSettings, fontFamily, assetManager);
+      sCustomStyleSpans.put(key, span);
+    }
+    return span;
+  }
+
+  /** Creates a new, non-interned span with the same attributes as {@code span}. */
+  public static ReactSpan copyOf(ReactSpan span) {
+    if (span instanceof ReactForegroundColorSpan) {
+      return new ReactForegroundColorSpan(((ReactForegroundColorSpan) span).getForegroundColor());
+    } else if (span instanceof ReactAbsoluteSizeSpan) {
+      return new ReactAbsoluteSizeSpan(((ReactAbsoluteSizeSpan) span).getSize());
+    } else if (span instanceof CustomStyleSpan) {
+      return ((CustomStyleSpan) span).copy();
+    }
+    throw new IllegalArgumentException("Span is not internable: " + span.getClass());
+  }
+
+  private static final class StyleKey {
+    private final int mStyle;
+    private final int mWeight;
+    private final @Nullable String mFeatureSettings;
+    private final @Nullable String mFontFamily;
+    private final AssetManager mAssetManager;
+
+    StyleKey(
+        int style,
+        int weight,
+        @Nullable String featureSettings,
+        @Nullable String fontFamily,
+        AssetManager assetManager) {
+      mStyle = style;
+      mWeight = weight;
+      mFeatureSettings = featureSettings;
+      mFontFamily = fontFamily;
+      mAssetManager = assetManager;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof StyleKey)) {
+        return false;
+      }
+      StyleKey other = (StyleKey) o;
+      return mStyle == other.mStyle
+          && mWeight == other.mWeight
+          && mAssetManager == other.mAssetManager
+          && Objects.equals(mFeatureSettings, other.mFeatureSettings)
+          && Objects.equals(mFontFamily, other.mFontFamily);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(
+          mStyle, mWeight, mFeatureSettings, mFontFamily, System.identityHashCode(mAssetManager));
+    }
+  }
+}